@@ -0,0 +1,85 @@
+package com.soulcorehub.benchmarks;
+
+import com.soulcorehub.api.Agent;
+import com.soulcorehub.lambda.agent.codec.AgentCodec;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares AgentCodec with the stream-based mapper it replaced.
+ * Run with {@code ./gradlew :benchmarks:jmh}; allocation rates come from the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AgentCodecBenchmark {
+
+    /**
+     * Number of capabilities and tags on the agent
+     */
+    @Param({"4", "64"})
+    public int collectionSize;
+
+    private Map<String, AttributeValue> item;
+    private List<Map<String, AttributeValue>> page;
+    private Agent agent;
+
+    @Setup
+    public void setUp() {
+        item = AgentItems.agentItem("agent-1", "GPTSoul", collectionSize);
+        agent = AgentCodec.decode(item);
+
+        // A full ListAgents page
+        page = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            page.add(AgentItems.agentItem("agent-" + i, "GPTSoul", collectionSize));
+        }
+    }
+
+    @Benchmark
+    public Agent legacyDecode() {
+        return LegacyAgentMapper.mapToAgent(item);
+    }
+
+    @Benchmark
+    public Agent codecDecode() {
+        return AgentCodec.decode(item);
+    }
+
+    @Benchmark
+    public Map<String, AttributeValue> codecEncode() {
+        return AgentCodec.encode(agent);
+    }
+
+    @Benchmark
+    public List<Agent> legacyDecodePage() {
+        List<Agent> agents = new ArrayList<>(page.size());
+        for (Map<String, AttributeValue> pageItem : page) {
+            agents.add(LegacyAgentMapper.mapToAgent(pageItem));
+        }
+        return agents;
+    }
+
+    @Benchmark
+    public List<Agent> codecDecodePage() {
+        List<Agent> agents = new ArrayList<>(page.size());
+        for (Map<String, AttributeValue> pageItem : page) {
+            agents.add(AgentCodec.decode(pageItem));
+        }
+        return agents;
+    }
+}
@@ -0,0 +1,46 @@
+package com.soulcorehub.benchmarks;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds representative agent items for benchmarks
+ */
+final class AgentItems {
+
+    private AgentItems() {
+    }
+
+    /**
+     * Builds an agent item with the given number of capabilities and tags
+     */
+    static Map<String, AttributeValue> agentItem(String agentId, String type, int collectionSize) {
+        List<AttributeValue> capabilities = new ArrayList<>(collectionSize);
+        Map<String, AttributeValue> tags = new HashMap<>();
+        for (int i = 0; i < collectionSize; i++) {
+            capabilities.add(string("capability-" + i));
+            tags.put("tag-" + i, string("value-" + i));
+        }
+
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("agentId", string(agentId));
+        item.put("name", string("Agent " + agentId));
+        item.put("type", string(type));
+        item.put("description", string("Benchmark agent"));
+        item.put("configuration", string("{\"model\":\"" + type + "-v1\",\"temperature\":0.7}"));
+        item.put("capabilities", AttributeValue.builder().l(capabilities).build());
+        item.put("status", string("ACTIVE"));
+        item.put("createdAt", string("2025-01-01T00:00:00Z"));
+        item.put("updatedAt", string("2025-06-01T00:00:00Z"));
+        item.put("tags", AttributeValue.builder().m(tags).build());
+        return item;
+    }
+
+    private static AttributeValue string(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.soulcorehub.benchmarks;
+
+import com.soulcorehub.lambda.agent.emotion.EmotionMatcher;
+import com.soulcorehub.lambda.agent.emotion.EmotionScores;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the Aho-Corasick emotion matcher behind AnimaAgentService.analyzeEmotionalContent
+ * with the keyword chain it replaced. The text mentions no emotion until its last sentence,
+ * which is the legacy chain's worst case: every keyword scans the whole text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmotionAnalysisBenchmark {
+
+    /**
+     * Approximate length of the text in characters
+     */
+    @Param({"128", "65536"})
+    public int textLength;
+
+    private EmotionMatcher matcher;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        matcher = EmotionMatcher.getDefault();
+
+        StringBuilder builder = new StringBuilder(textLength + 64);
+        while (builder.length() < textLength) {
+            builder.append("The Quarterly Report covers Revenue, Hiring and the Roadmap. ");
+        }
+        builder.append("Honestly I am Worried about it.");
+        text = builder.toString();
+    }
+
+    @Benchmark
+    public String legacyAnalyze() {
+        return LegacyEmotionAnalyzer.analyzeEmotionalContent(text);
+    }
+
+    @Benchmark
+    public EmotionScores matcherScore() {
+        return matcher.score(text);
+    }
+}
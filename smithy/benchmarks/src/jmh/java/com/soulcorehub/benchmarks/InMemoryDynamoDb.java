@@ -0,0 +1,151 @@
+package com.soulcorehub.benchmarks;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbServiceClientConfiguration;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for DynamoDB with zero latency, supporting GetItem and PutItem.
+ * Items are keyed by their key attribute, so table names are ignored; the agents and contexts
+ * tables use different key attributes and never collide. GetItem applies projection
+ * expressions, including attribute name placeholders, so projected reads return what
+ * DynamoDB would. Every other operation throws {@link UnsupportedOperationException}.
+ */
+final class InMemoryDynamoDb {
+    private final List<String> keyAttributes;
+    private final Map<Map<String, AttributeValue>, Map<String, AttributeValue>> items = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty stand-in
+     *
+     * @param keyAttributes The key attribute names of the tables it stands in for
+     */
+    InMemoryDynamoDb(String... keyAttributes) {
+        this.keyAttributes = List.of(keyAttributes);
+    }
+
+    /**
+     * Stores an item
+     */
+    void put(Map<String, AttributeValue> item) {
+        items.put(keyOf(item), Map.copyOf(item));
+    }
+
+    /**
+     * Gets a synchronous client backed by this stand-in
+     */
+    DynamoDbClient syncClient() {
+        return new DynamoDbClient() {
+            @Override
+            public GetItemResponse getItem(GetItemRequest request) {
+                return InMemoryDynamoDb.this.getItem(request);
+            }
+
+            @Override
+            public PutItemResponse putItem(PutItemRequest request) {
+                put(request.item());
+                return PutItemResponse.builder().build();
+            }
+
+            @Override
+            public DynamoDbServiceClientConfiguration serviceClientConfiguration() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String serviceName() {
+                return SERVICE_NAME;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    /**
+     * Gets an asynchronous client backed by this stand-in; every call completes immediately
+     */
+    DynamoDbAsyncClient asyncClient() {
+        return new DynamoDbAsyncClient() {
+            @Override
+            public CompletableFuture<GetItemResponse> getItem(GetItemRequest request) {
+                return CompletableFuture.completedFuture(InMemoryDynamoDb.this.getItem(request));
+            }
+
+            @Override
+            public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+                put(request.item());
+                return CompletableFuture.completedFuture(PutItemResponse.builder().build());
+            }
+
+            @Override
+            public DynamoDbServiceClientConfiguration serviceClientConfiguration() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public String serviceName() {
+                return SERVICE_NAME;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private GetItemResponse getItem(GetItemRequest request) {
+        Map<String, AttributeValue> item = items.get(request.key());
+        if (item == null) {
+            return GetItemResponse.builder().build();
+        }
+        return GetItemResponse.builder().item(project(item, request)).build();
+    }
+
+    /**
+     * Applies the request's projection expression to an item
+     */
+    private static Map<String, AttributeValue> project(Map<String, AttributeValue> item, GetItemRequest request) {
+        String expression = request.projectionExpression();
+        if (expression == null || expression.isEmpty()) {
+            return item;
+        }
+
+        Map<String, String> names = request.hasExpressionAttributeNames()
+                ? request.expressionAttributeNames()
+                : Collections.emptyMap();
+        Map<String, AttributeValue> projected = new HashMap<>();
+        for (String token : expression.split(",")) {
+            String name = token.trim();
+            name = names.getOrDefault(name, name);
+            AttributeValue value = item.get(name);
+            if (value != null) {
+                projected.put(name, value);
+            }
+        }
+        return projected;
+    }
+
+    private Map<String, AttributeValue> keyOf(Map<String, AttributeValue> item) {
+        for (String keyAttribute : keyAttributes) {
+            AttributeValue value = item.get(keyAttribute);
+            if (value != null) {
+                return Map.of(keyAttribute, value);
+            }
+        }
+        throw new IllegalArgumentException("Item has none of the key attributes " + keyAttributes);
+    }
+}
@@ -0,0 +1,112 @@
+package com.soulcorehub.benchmarks;
+
+import com.soulcorehub.api.InvokeAgentOutput;
+import com.soulcorehub.lambda.agent.AgentInvoker;
+import com.soulcorehub.lambda.agent.AgentRepository;
+import com.soulcorehub.lambda.agent.InvokeAgentHandler;
+import com.soulcorehub.lambda.agent.cache.AgentCache;
+import com.soulcorehub.lambda.agent.cache.KnownAgentFilter;
+import com.soulcorehub.lambda.agent.cache.NegativeLookupCache;
+import com.soulcorehub.lambda.agent.context.ContextStore;
+import com.soulcorehub.lambda.agent.model.InvokeAgentRequest;
+import com.soulcorehub.lambda.agent.service.AgentServiceFactory;
+import com.soulcorehub.lambda.util.DynamoDbAsyncClient;
+import com.soulcorehub.lambda.util.DynamoDbClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs InvokeAgentHandler end to end against the in-memory DynamoDB stand-in and a
+ * zero-latency agent backend, so results reflect only the handler's own work: validation,
+ * agent lookup and caching, context resolution, payload building, fingerprinting and the
+ * resilience and hedging decorators. Reports throughput and sampled latency percentiles;
+ * allocation rates come from the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvokeAgentHandlerBenchmark {
+    private static final int AGENT_COUNT = 1000;
+    private static final String AGENT_TYPE = "GPTSoul";
+
+    /**
+     * warm: every agent fits in the agent cache; cold: a one-entry cache, so nearly every lookup reads DynamoDB
+     */
+    @Param({"warm", "cold"})
+    public String agentCache;
+
+    /**
+     * Whether the context is sent inline or as a contextRef into the context store
+     */
+    @Param({"inline", "ref"})
+    public String contextMode;
+
+    private InvokeAgentHandler handler;
+    private BenchmarkContext context;
+    private InvokeAgentRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        InMemoryDynamoDb dynamoDb = new InMemoryDynamoDb("agentId", "contextRef");
+        for (int i = 0; i < AGENT_COUNT; i++) {
+            dynamoDb.put(AgentItems.agentItem("agent-" + i, AGENT_TYPE, 8));
+        }
+
+        DynamoDbClient syncClient = new DynamoDbClient(dynamoDb.syncClient());
+        DynamoDbAsyncClient asyncClient = new DynamoDbAsyncClient(dynamoDb.asyncClient());
+
+        AgentCache cache = "warm".equals(agentCache)
+                ? new AgentCache(AGENT_COUNT * 2, 3600, 3000)
+                : new AgentCache(1, 3600, 3000);
+        AgentRepository repository = new AgentRepository(
+                syncClient,
+                asyncClient,
+                cache,
+                new NegativeLookupCache(1000, 30),
+                new KnownAgentFilter(syncClient, false, 0.01)
+        );
+
+        ContextStore contextStore = new ContextStore(syncClient);
+        AgentServiceFactory serviceFactory = new AgentServiceFactory(
+                List.of(new ZeroLatencyAgentServiceProvider(AGENT_TYPE)));
+        handler = new InvokeAgentHandler(repository, new AgentInvoker(serviceFactory), contextStore);
+        context = new BenchmarkContext();
+
+        String sharedContext = "The user is planning a product launch and wants a risk review. ".repeat(16);
+        String contextRef = "ref".equals(contextMode) ? contextStore.put(sharedContext) : null;
+
+        // Rotate across agents; temperature 0.7 keeps responses out of the response cache
+        requests = new InvokeAgentRequest[AGENT_COUNT];
+        for (int i = 0; i < AGENT_COUNT; i++) {
+            InvokeAgentRequest request = new InvokeAgentRequest();
+            request.setAgentId("agent-" + i);
+            request.setPrompt("Summarize the main risks of launch plan " + i + " and suggest mitigations.");
+            request.setMaxTokens(256);
+            request.setTemperature(0.7f);
+            if (contextRef != null) {
+                request.setContextRef(contextRef);
+            } else {
+                request.setContext(sharedContext);
+            }
+            requests[i] = request;
+        }
+    }
+
+    @Benchmark
+    public InvokeAgentOutput invokeAgent() {
+        InvokeAgentRequest request = requests[next];
+        next = next + 1 == requests.length ? 0 : next + 1;
+        return handler.handleRequest(request, context);
+    }
+}
@@ -0,0 +1,58 @@
+package com.soulcorehub.benchmarks;
+
+import com.soulcorehub.api.Agent;
+import com.soulcorehub.api.AgentStatus;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Stream-based item mapper that GetAgentHandler used before AgentCodec, kept as a baseline
+ */
+final class LegacyAgentMapper {
+
+    private LegacyAgentMapper() {
+    }
+
+    static Agent mapToAgent(Map<String, AttributeValue> item) {
+        Agent agent = new Agent();
+        
+        agent.setAgentId(item.get("agentId").s());
+        agent.setName(item.get("name").s());
+        agent.setType(item.get("type").s());
+        
+        if (item.containsKey("description")) {
+            agent.setDescription(item.get("description").s());
+        }
+        
+        if (item.containsKey("configuration")) {
+            agent.setConfiguration(item.get("configuration").s());
+        }
+        
+        if (item.containsKey("capabilities")) {
+            List<String> capabilities = item.get("capabilities").l().stream()
+                    .map(AttributeValue::s)
+                    .collect(Collectors.toList());
+            agent.setCapabilities(capabilities);
+        }
+        
+        agent.setStatus(AgentStatus.valueOf(item.get("status").s()));
+        agent.setCreatedAt(item.get("createdAt").s());
+        
+        if (item.containsKey("updatedAt")) {
+            agent.setUpdatedAt(item.get("updatedAt").s());
+        }
+        
+        if (item.containsKey("tags")) {
+            Map<String, String> tags = new HashMap<>();
+            item.get("tags").m().forEach((key, value) -> tags.put(key, value.s()));
+            agent.setTags(tags);
+        }
+        
+        return agent;
+    }
+}
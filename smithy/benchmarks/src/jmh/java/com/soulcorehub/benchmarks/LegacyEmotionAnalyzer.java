@@ -0,0 +1,28 @@
+package com.soulcorehub.benchmarks;
+
+/**
+ * The keyword chain AnimaAgentService used before the Aho-Corasick matcher, kept as a baseline
+ */
+final class LegacyEmotionAnalyzer {
+
+    private LegacyEmotionAnalyzer() {
+    }
+
+    static String analyzeEmotionalContent(String text) {
+        text = text.toLowerCase();
+
+        if (text.contains("happy") || text.contains("joy") || text.contains("excited")) {
+            return "joy";
+        } else if (text.contains("sad") || text.contains("unhappy") || text.contains("disappointed")) {
+            return "sadness";
+        } else if (text.contains("angry") || text.contains("frustrated") || text.contains("annoyed")) {
+            return "anger";
+        } else if (text.contains("afraid") || text.contains("scared") || text.contains("worried")) {
+            return "fear";
+        } else if (text.contains("surprised") || text.contains("amazed") || text.contains("astonished")) {
+            return "surprise";
+        } else {
+            return "curiosity";
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.soulcorehub.benchmarks;
+
+import com.google.gson.Gson;
+import com.soulcorehub.lambda.agent.cache.InvocationFingerprint;
+import com.soulcorehub.lambda.agent.service.AgentRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the per-request work of preparing an agent call: building the AgentRequest and
+ * its payload, fingerprinting it for the response cache, and serializing the payload as the
+ * HTTP transport does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PayloadBenchmark {
+    private static final Gson GSON = new Gson();
+
+    /**
+     * Length of the prompt in characters
+     */
+    @Param({"64", "4096"})
+    public int promptLength;
+
+    private String prompt;
+    private String context;
+    private Map<String, String> parameters;
+    private AgentRequest request;
+
+    @Setup
+    public void setUp() {
+        prompt = "Describe the plan in detail. ".repeat(promptLength / 29 + 1).substring(0, promptLength);
+        context = "Previous conversation turn. ".repeat(32);
+        parameters = new HashMap<>();
+        parameters.put("style", "concise");
+        parameters.put("language", "en");
+        parameters.put("persona", "architect");
+        request = newRequest();
+    }
+
+    @Benchmark
+    public AgentRequest buildRequest() {
+        return newRequest();
+    }
+
+    @Benchmark
+    public String fingerprint() {
+        return InvocationFingerprint.of(request, "2025-06-01T00:00:00Z");
+    }
+
+    @Benchmark
+    public String serializePayload() {
+        return GSON.toJson(request.getPayload());
+    }
+
+    private AgentRequest newRequest() {
+        return new AgentRequest("agent-1", prompt, parameters, context, 256, 0.7f);
+    }
+}
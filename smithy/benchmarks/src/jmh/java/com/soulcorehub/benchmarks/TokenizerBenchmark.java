@@ -0,0 +1,141 @@
+package com.soulcorehub.benchmarks;
+
+import com.soulcorehub.lambda.agent.tokenizer.BpeTokenizer;
+import com.soulcorehub.lambda.agent.tokenizer.BpeVocabulary;
+import com.soulcorehub.lambda.agent.tokenizer.EstimatingTokenCounter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures token counting throughput.
+ * The {@code bytes} secondary result is the UTF-8 input consumed per second; divide by 10^6 for MB/s.
+ * By default a small synthetic vocabulary is generated; pass
+ * {@code -p vocabPath=/path/to/cl100k_base.tiktoken} to measure a production vocabulary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TokenizerBenchmark {
+    private static final String[] WORDS = {
+            "the", "agent", "emotional", "reflection", "understanding", "inquiry", "connection",
+            "and", "of", "to", "in", "is", "that", "for", "with", "your", "message", "feel",
+            "happy", "worried", "surprised", "decision", "context", "intelligence", "together"
+    };
+
+    /**
+     * Approximate length of the text in characters
+     */
+    @Param({"256", "65536"})
+    public int textLength;
+
+    /**
+     * tiktoken-format vocabulary file, or empty to generate a synthetic one
+     */
+    @Param({""})
+    public String vocabPath;
+
+    private BpeTokenizer tokenizer;
+    private EstimatingTokenCounter estimator;
+    private String text;
+    private long textBytes;
+
+    /**
+     * Counts the bytes of input consumed so JMH reports them as a rate
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Path path = vocabPath.isEmpty() ? writeSyntheticVocabulary() : Paths.get(vocabPath);
+        tokenizer = new BpeTokenizer(BpeVocabulary.load(path));
+        estimator = new EstimatingTokenCounter();
+
+        StringBuilder builder = new StringBuilder(textLength + 32);
+        Random random = new Random(42);
+        while (builder.length() < textLength) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+            int r = random.nextInt(20);
+            builder.append(r == 0 ? ". " : r == 1 ? ", " : r == 2 ? " " + random.nextInt(10000) + " " : " ");
+        }
+        text = builder.toString();
+        textBytes = text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Benchmark
+    public int bpeCount(Bytes counter) {
+        counter.bytes += textBytes;
+        return tokenizer.countTokens(text);
+    }
+
+    @Benchmark
+    public int estimateCount(Bytes counter) {
+        counter.bytes += textBytes;
+        return estimator.countTokens(text);
+    }
+
+    /**
+     * Writes every single byte plus the prefixes and space-prefixed forms of the benchmark words,
+     * so encoding exercises real multi-step merges
+     */
+    private static Path writeSyntheticVocabulary() throws IOException {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : WORDS) {
+            for (int end = 2; end <= word.length(); end++) {
+                tokens.add(word.substring(0, end));
+                tokens.add(" " + word.substring(0, end));
+            }
+        }
+
+        List<byte[]> entries = new ArrayList<>(256 + tokens.size());
+        for (int b = 0; b < 256; b++) {
+            entries.add(new byte[] {(byte) b});
+        }
+        for (String token : tokens) {
+            entries.add(token.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Path path = Files.createTempFile("tokenizer-benchmark", ".tiktoken");
+        path.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            for (int rank = 0; rank < entries.size(); rank++) {
+                writer.write(Base64.getEncoder().encodeToString(entries.get(rank)));
+                writer.write(' ');
+                writer.write(Integer.toString(rank));
+                writer.write('\n');
+            }
+        }
+        return path;
+    }
+}
@@ -0,0 +1,57 @@
+package com.soulcorehub.benchmarks;
+
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+import com.soulcorehub.lambda.agent.service.AgentRequest;
+import com.soulcorehub.lambda.agent.service.AgentService;
+import com.soulcorehub.lambda.agent.service.AgentServiceProvider;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Provides an agent service whose backend answers instantly with a fixed response, so
+ * benchmarks measure only the handler, caches and service decorators around the call
+ */
+final class ZeroLatencyAgentServiceProvider implements AgentServiceProvider {
+    private final String agentType;
+
+    ZeroLatencyAgentServiceProvider(String agentType) {
+        this.agentType = agentType;
+    }
+
+    @Override
+    public String getAgentType() {
+        return agentType;
+    }
+
+    @Override
+    public AgentService create() {
+        AgentInvocationResult result = new AgentInvocationResult(
+                "Benchmark response from a zero-latency backend.",
+                16,
+                12,
+                28,
+                Map.of("model", agentType + "-bench", "role", "Benchmark")
+        );
+
+        return new AgentService() {
+            @Override
+            public AgentInvocationResult invokeAgent(
+                    String agentId,
+                    String prompt,
+                    Map<String, String> parameters,
+                    String context,
+                    Integer maxTokens,
+                    Float temperature
+            ) {
+                return result;
+            }
+
+            @Override
+            public CompletionStage<AgentInvocationResult> invokeAgentAsync(AgentRequest request) {
+                return CompletableFuture.completedFuture(result);
+            }
+        };
+    }
+}
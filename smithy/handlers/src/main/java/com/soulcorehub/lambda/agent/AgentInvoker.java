@@ -0,0 +1,88 @@
+package com.soulcorehub.lambda.agent;
+
+import com.soulcorehub.lambda.agent.cache.InFlightInvocations;
+import com.soulcorehub.lambda.agent.cache.InvocationFingerprint;
+import com.soulcorehub.lambda.agent.cache.ResponseCache;
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+import com.soulcorehub.lambda.agent.service.AgentRequest;
+import com.soulcorehub.lambda.agent.service.AgentService;
+import com.soulcorehub.lambda.agent.service.AgentServiceFactory;
+import com.soulcorehub.lambda.util.Deadline;
+import com.soulcorehub.lambda.util.Futures;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invokes a resolved agent for the invoke handlers.
+ * Deterministic invocations (temperature 0) are answered from {@link ResponseCache} when the
+ * same agent configuration has already answered the same inputs, and identical invocations
+ * arriving together share one agent service call through {@link InFlightInvocations}.
+ */
+public class AgentInvoker {
+    private static final Logger logger = LoggerFactory.getLogger(AgentInvoker.class);
+    private final AgentServiceFactory agentServiceFactory;
+    private final ResponseCache responseCache;
+    private final InFlightInvocations inFlightInvocations;
+
+    /**
+     * Creates a new AgentInvoker
+     *
+     * @param agentServiceFactory The factory used to route invocations by agent type
+     */
+    public AgentInvoker(AgentServiceFactory agentServiceFactory) {
+        this.agentServiceFactory = agentServiceFactory;
+        this.responseCache = ResponseCache.getInstance();
+        this.inFlightInvocations = InFlightInvocations.getInstance();
+    }
+
+    /**
+     * Invokes an agent
+     *
+     * @param request The agent request
+     * @param item    The agent item, with at least its type and updatedAt attributes
+     * @return A future completed with the invocation result, or with DeadlineExceededException
+     *         once the request's deadline passes; cancelling it withdraws this caller from a shared call
+     */
+    public CompletableFuture<AgentInvocationResult> invoke(AgentRequest request, Map<String, AttributeValue> item) {
+        // Serve deterministic requests from the response cache when possible
+        String fingerprint = InvocationFingerprint.of(request, configVersion(item));
+        boolean cacheable = responseCache.isCacheable(request);
+        if (cacheable) {
+            AgentInvocationResult cached = responseCache.get(fingerprint);
+            if (cached != null) {
+                logger.info("Serving cached response for agent: {}", request.getAgentId());
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+
+        // Get appropriate agent service and invoke agent, sharing any identical call in flight.
+        // A shared call serves callers with different deadlines, so it runs without one and each
+        // caller bounds its own future by its own deadline instead.
+        AgentService agentService = agentServiceFactory.getAgentService(item.get("type").s());
+        AgentRequest callRequest = inFlightInvocations.isEnabled() ? request.withDeadline(Deadline.none()) : request;
+        return request.getDeadline().bound(inFlightInvocations.invoke(fingerprint, () -> {
+            CompletableFuture<AgentInvocationResult> call = agentService.invokeAgentAsync(callRequest).toCompletableFuture();
+            if (!cacheable) {
+                return call;
+            }
+            return Futures.forwardCancellation(call.thenApply(result -> {
+                responseCache.put(fingerprint, result);
+                return result;
+            }), call);
+        }), "agent invocation");
+    }
+
+    /**
+     * Gets the version of the agent configuration, so cached responses are not reused after an update
+     */
+    private static String configVersion(Map<String, AttributeValue> item) {
+        AttributeValue updatedAt = item.get("updatedAt");
+        return updatedAt != null ? updatedAt.s() : null;
+    }
+}
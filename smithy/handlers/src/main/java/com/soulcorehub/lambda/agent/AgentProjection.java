@@ -0,0 +1,160 @@
+package com.soulcorehub.lambda.agent;
+
+import com.soulcorehub.lambda.agent.cache.AgentCache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Set of agent attributes to read from the agents table.
+ * Reading only the attributes a caller needs saves read capacity and bytes on the wire
+ * for agents with large configuration, capabilities or tags.
+ */
+public final class AgentProjection {
+    /**
+     * Attributes of an agent item that can be projected
+     */
+    public static final List<String> FIELDS = Collections.unmodifiableList(Arrays.asList(
+            "agentId", "name", "type", "description", "configuration",
+            "capabilities", "status", "createdAt", "updatedAt", "tags"
+    ));
+
+    /**
+     * Reads the whole agent item
+     */
+    public static final AgentProjection ALL = new AgentProjection(null);
+
+    /**
+     * Reads what the invoke path needs to route a request and version cached responses
+     */
+    public static final AgentProjection INVOKE = of(Arrays.asList("agentId", "type", "updatedAt"));
+
+    private final List<String> fields;
+    private final String projectionExpression;
+    private final Map<String, String> expressionAttributeNames;
+    private final String cacheKeySuffix;
+
+    private AgentProjection(List<String> fields) {
+        this.fields = fields;
+
+        if (fields == null) {
+            this.projectionExpression = null;
+            this.expressionAttributeNames = null;
+            this.cacheKeySuffix = null;
+            return;
+        }
+
+        // Attribute names such as name, type and status are reserved words, so use placeholders
+        StringBuilder expression = new StringBuilder();
+        Map<String, String> names = new HashMap<>(fields.size() * 4 / 3 + 1);
+        for (int i = 0; i < fields.size(); i++) {
+            String placeholder = "#f" + i;
+            if (i > 0) {
+                expression.append(", ");
+            }
+            expression.append(placeholder);
+            names.put(placeholder, fields.get(i));
+        }
+
+        this.projectionExpression = expression.toString();
+        this.expressionAttributeNames = Collections.unmodifiableMap(names);
+        this.cacheKeySuffix = AgentCache.PROJECTION_SEPARATOR + String.join(",", fields);
+    }
+
+    /**
+     * Creates a projection of the given agent attributes. The agent ID is always included.
+     *
+     * @param fields The attributes to read
+     * @return The projection, or {@link #ALL} if fields is null or empty
+     */
+    public static AgentProjection of(Collection<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return ALL;
+        }
+
+        TreeSet<String> sorted = new TreeSet<>();
+        sorted.add("agentId");
+        for (String field : fields) {
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown agent field: " + field);
+            }
+            sorted.add(field);
+        }
+
+        return sorted.size() == FIELDS.size() ? ALL : new AgentProjection(Collections.unmodifiableList(new ArrayList<>(sorted)));
+    }
+
+    /**
+     * Checks whether this projection reads the whole item
+     *
+     * @return True if no projection expression is applied
+     */
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    /**
+     * Gets the projected attributes
+     *
+     * @return The attributes, or null for the whole item
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Gets the projection expression
+     *
+     * @return The projection expression, or null for the whole item
+     */
+    public String getProjectionExpression() {
+        return projectionExpression;
+    }
+
+    /**
+     * Gets the attribute name placeholders used by the projection expression
+     *
+     * @return The expression attribute names, or null for the whole item
+     */
+    public Map<String, String> getExpressionAttributeNames() {
+        return expressionAttributeNames;
+    }
+
+    /**
+     * Restricts a whole item to the projected attributes
+     *
+     * @param item The whole item
+     * @param <V>  The attribute value type
+     * @return A new map holding only the projected attributes, or the item itself for {@link #ALL}
+     */
+    public <V> Map<String, V> apply(Map<String, V> item) {
+        if (fields == null || item == null) {
+            return item;
+        }
+
+        Map<String, V> projected = new HashMap<>(fields.size() * 4 / 3 + 1);
+        for (String field : fields) {
+            V value = item.get(field);
+            if (value != null) {
+                projected.put(field, value);
+            }
+        }
+        return projected;
+    }
+
+    /**
+     * Gets the agent cache key for an agent read with this projection
+     *
+     * @param agentId The ID of the agent
+     * @return The cache key
+     */
+    public String cacheKey(String agentId) {
+        return cacheKeySuffix == null ? agentId : agentId + cacheKeySuffix;
+    }
+}
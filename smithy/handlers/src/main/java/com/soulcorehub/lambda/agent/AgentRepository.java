@@ -0,0 +1,364 @@
+package com.soulcorehub.lambda.agent;
+
+import com.soulcorehub.lambda.agent.cache.AgentCache;
+import com.soulcorehub.lambda.agent.cache.KnownAgentFilter;
+import com.soulcorehub.lambda.agent.cache.NegativeLookupCache;
+import com.soulcorehub.lambda.util.Deadline;
+import com.soulcorehub.lambda.util.DynamoDbAsyncClient;
+import com.soulcorehub.lambda.util.DynamoDbClient;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads agent items from the agents table through the shared agent cache
+ */
+public class AgentRepository {
+    private static final Logger logger = LoggerFactory.getLogger(AgentRepository.class);
+    private static final String TABLE_NAME = System.getenv("AGENTS_TABLE_NAME");
+    private static final boolean REFRESH_AHEAD = EnvironmentConfig.getBoolean("AGENT_CACHE_REFRESH_AHEAD", true);
+
+    // BatchGetItem accepts at most 100 keys per request
+    private static final int BATCH_GET_MAX_KEYS = 100;
+    private static final int BATCH_GET_MAX_ATTEMPTS = EnvironmentConfig.getInt("AGENT_BATCH_GET_MAX_ATTEMPTS", 5);
+    private static final long BATCH_GET_BASE_BACKOFF_MS = EnvironmentConfig.getLong("AGENT_BATCH_GET_BASE_BACKOFF_MS", 25);
+    private static final long BATCH_GET_MAX_BACKOFF_MS = EnvironmentConfig.getLong("AGENT_BATCH_GET_MAX_BACKOFF_MS", 1000);
+
+    private final DynamoDbClient dynamoDbClient;
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final AgentCache agentCache;
+    private final NegativeLookupCache negativeLookupCache;
+    private final KnownAgentFilter knownAgentFilter;
+
+    /**
+     * Creates a new AgentRepository
+     *
+     * @param dynamoDbClient      The DynamoDB client
+     * @param dynamoDbAsyncClient The asynchronous DynamoDB client
+     * @param agentCache          The agent cache
+     * @param negativeLookupCache The cache of recently missing agent IDs
+     * @param knownAgentFilter    The Bloom filter of known agent IDs
+     */
+    public AgentRepository(
+            DynamoDbClient dynamoDbClient,
+            DynamoDbAsyncClient dynamoDbAsyncClient,
+            AgentCache agentCache,
+            NegativeLookupCache negativeLookupCache,
+            KnownAgentFilter knownAgentFilter
+    ) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.agentCache = agentCache;
+        this.negativeLookupCache = negativeLookupCache;
+        this.knownAgentFilter = knownAgentFilter;
+    }
+
+    /**
+     * Gets the shared agent repository
+     *
+     * @return The agent repository
+     */
+    public static AgentRepository getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets a whole agent item, serving it from the cache when possible
+     *
+     * @param agentId The ID of the agent
+     * @return The agent item, or null if the agent does not exist
+     */
+    public Map<String, AttributeValue> getAgentItem(String agentId) {
+        return getAgentItem(agentId, AgentProjection.ALL);
+    }
+
+    /**
+     * Gets the projected attributes of an agent item, serving them from the cache when possible.
+     * A cached whole item serves any projection. Agent IDs that were recently found missing,
+     * or that the Bloom filter rules out while its miss read rate is exhausted, are rejected
+     * without reading the agents table.
+     *
+     * @param agentId    The ID of the agent
+     * @param projection The attributes to read
+     * @return The agent item, or null if the agent does not exist
+     */
+    public Map<String, AttributeValue> getAgentItem(String agentId, AgentProjection projection) {
+        return getAgentItem(agentId, projection, Deadline.none());
+    }
+
+    /**
+     * Gets the projected attributes of an agent item, bounding any DynamoDB read by a deadline
+     *
+     * @param agentId    The ID of the agent
+     * @param projection The attributes to read
+     * @param deadline   The deadline of the calling request
+     * @return The agent item, or null if the agent does not exist
+     */
+    public Map<String, AttributeValue> getAgentItem(String agentId, AgentProjection projection, Deadline deadline) {
+        Map<String, AttributeValue> item = getCachedItem(agentId, projection);
+        if (item != null) {
+            return item;
+        }
+
+        if (negativeLookupCache.isKnownMissing(agentId) || !knownAgentFilter.admit(agentId)) {
+            logger.debug("Rejected lookup for unknown agent: {}", agentId);
+            return null;
+        }
+
+        return recordLookup(agentId, projection, loadAgentItem(agentId, projection, deadline));
+    }
+
+    /**
+     * Gets a whole agent item without blocking the calling thread
+     *
+     * @param agentId The ID of the agent
+     * @return A future completed with the agent item, or with null if the agent does not exist
+     */
+    public CompletableFuture<Map<String, AttributeValue>> getAgentItemAsync(String agentId) {
+        return getAgentItemAsync(agentId, AgentProjection.ALL);
+    }
+
+    /**
+     * Gets the projected attributes of an agent item without blocking the calling thread.
+     * Cache hits and rejected IDs complete immediately; otherwise the item is read
+     * with the asynchronous DynamoDB client.
+     *
+     * @param agentId    The ID of the agent
+     * @param projection The attributes to read
+     * @return A future completed with the agent item, or with null if the agent does not exist
+     */
+    public CompletableFuture<Map<String, AttributeValue>> getAgentItemAsync(
+            String agentId,
+            AgentProjection projection
+    ) {
+        return getAgentItemAsync(agentId, projection, Deadline.none());
+    }
+
+    /**
+     * Gets the projected attributes of an agent item without blocking the calling thread,
+     * bounding any DynamoDB read by a deadline
+     *
+     * @param agentId    The ID of the agent
+     * @param projection The attributes to read
+     * @param deadline   The deadline of the calling request
+     * @return A future completed with the agent item, or with null if the agent does not exist
+     */
+    public CompletableFuture<Map<String, AttributeValue>> getAgentItemAsync(
+            String agentId,
+            AgentProjection projection,
+            Deadline deadline
+    ) {
+        Map<String, AttributeValue> item = getCachedItem(agentId, projection);
+        if (item != null) {
+            return CompletableFuture.completedFuture(item);
+        }
+
+        if (negativeLookupCache.isKnownMissing(agentId) || !knownAgentFilter.admit(agentId)) {
+            logger.debug("Rejected lookup for unknown agent: {}", agentId);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return dynamoDbAsyncClient.getClient().getItem(buildGetItemRequest(agentId, projection, deadline))
+                .thenApply(response -> recordLookup(agentId, projection,
+                        response.item() == null || response.item().isEmpty() ? null : response.item()));
+    }
+
+    /**
+     * Gets several agent items at once.
+     * Cached agents are served from the cache; the rest are read with BatchGetItem in groups
+     * of 100 keys issued in parallel, retrying unprocessed keys with exponential backoff.
+     *
+     * @param agentIds The IDs of the agents
+     * @return A future completed with the items of the agents that exist, keyed by agent ID
+     */
+    public CompletableFuture<Map<String, Map<String, AttributeValue>>> batchGetAgentItems(Collection<String> agentIds) {
+        Map<String, Map<String, AttributeValue>> found = new ConcurrentHashMap<>(agentIds.size() * 4 / 3 + 1);
+        List<String> toRead = new ArrayList<>(agentIds.size());
+
+        for (String agentId : agentIds) {
+            Map<String, AttributeValue> item = agentCache.get(agentId);
+            if (item != null) {
+                found.put(agentId, item);
+            } else if (!negativeLookupCache.isKnownMissing(agentId) && knownAgentFilter.admit(agentId)) {
+                toRead.add(agentId);
+            }
+        }
+
+        if (toRead.isEmpty()) {
+            return CompletableFuture.completedFuture(found);
+        }
+
+        List<CompletableFuture<Void>> batches = new ArrayList<>(toRead.size() / BATCH_GET_MAX_KEYS + 1);
+        for (int start = 0; start < toRead.size(); start += BATCH_GET_MAX_KEYS) {
+            List<String> chunk = toRead.subList(start, Math.min(start + BATCH_GET_MAX_KEYS, toRead.size()));
+            batches.add(readBatch(chunk, found));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> found);
+    }
+
+    /**
+     * Reads one group of at most 100 agents and records the ones that do not exist
+     */
+    private CompletableFuture<Void> readBatch(List<String> agentIds, Map<String, Map<String, AttributeValue>> found) {
+        List<Map<String, AttributeValue>> keys = new ArrayList<>(agentIds.size());
+        for (String agentId : agentIds) {
+            keys.add(Collections.singletonMap("agentId", AttributeValue.builder().s(agentId).build()));
+        }
+
+        return executeBatch(KeysAndAttributes.builder().keys(keys).build(), 0, found)
+                .thenRun(() -> {
+                    for (String agentId : agentIds) {
+                        if (!found.containsKey(agentId)) {
+                            negativeLookupCache.markMissing(agentId);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Issues a BatchGetItem request, retrying unprocessed keys with backoff
+     */
+    private CompletableFuture<Void> executeBatch(
+            KeysAndAttributes keys,
+            int attempt,
+            Map<String, Map<String, AttributeValue>> found
+    ) {
+        BatchGetItemRequest request = BatchGetItemRequest.builder()
+                .requestItems(Collections.singletonMap(TABLE_NAME, keys))
+                .build();
+
+        return dynamoDbAsyncClient.getClient().batchGetItem(request).thenCompose(response -> {
+            List<Map<String, AttributeValue>> items = response.responses().get(TABLE_NAME);
+            if (items != null) {
+                for (Map<String, AttributeValue> item : items) {
+                    String agentId = item.get("agentId").s();
+                    found.put(agentId, recordLookup(agentId, AgentProjection.ALL, item));
+                }
+            }
+
+            KeysAndAttributes unprocessed = response.unprocessedKeys().get(TABLE_NAME);
+            if (unprocessed == null || unprocessed.keys().isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            if (attempt + 1 >= BATCH_GET_MAX_ATTEMPTS) {
+                return CompletableFuture.failedFuture(new RuntimeException(
+                        "Failed to read " + unprocessed.keys().size() + " agents after "
+                                + BATCH_GET_MAX_ATTEMPTS + " attempts"));
+            }
+
+            logger.debug("Retrying {} unprocessed agent keys (attempt {})", unprocessed.keys().size(), attempt + 1);
+            Executor delay = CompletableFuture.delayedExecutor(backoff(attempt), TimeUnit.MILLISECONDS);
+            return CompletableFuture.runAsync(() -> { }, delay)
+                    .thenCompose(ignored -> executeBatch(unprocessed, attempt + 1, found));
+        });
+    }
+
+    /**
+     * Exponential backoff with full jitter
+     */
+    private static long backoff(int attempt) {
+        long ceiling = Math.min(BATCH_GET_MAX_BACKOFF_MS, BATCH_GET_BASE_BACKOFF_MS << Math.min(attempt, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Gets a cached item with the projected attributes, cut down from a cached whole item if needed
+     */
+    private Map<String, AttributeValue> getCachedItem(String agentId, AgentProjection projection) {
+        Map<String, AttributeValue> item = agentCache.get(agentId);
+        if (item != null) {
+            return projection.apply(item);
+        }
+        return projection.isAll() ? null : agentCache.get(projection.cacheKey(agentId));
+    }
+
+    /**
+     * Records the outcome of a table read in the agent cache, negative cache and Bloom filter
+     */
+    private Map<String, AttributeValue> recordLookup(
+            String agentId,
+            AgentProjection projection,
+            Map<String, AttributeValue> item
+    ) {
+        if (item == null) {
+            negativeLookupCache.markMissing(agentId);
+            return null;
+        }
+
+        agentCache.put(projection.cacheKey(agentId), item,
+                REFRESH_AHEAD ? key -> loadAgentItem(agentId, projection, Deadline.none()) : null);
+        knownAgentFilter.add(agentId);
+        return item;
+    }
+
+    /**
+     * Reads an agent item from DynamoDB
+     */
+    private Map<String, AttributeValue> loadAgentItem(String agentId, AgentProjection projection, Deadline deadline) {
+        logger.debug("Loading agent from DynamoDB: {}", agentId);
+
+        GetItemResponse response = dynamoDbClient.getClient().getItem(buildGetItemRequest(agentId, projection, deadline));
+
+        if (response.item() == null || response.item().isEmpty()) {
+            return null;
+        }
+        return response.item();
+    }
+
+    /**
+     * Builds the GetItem request for an agent. Reads are eventually consistent, which costs
+     * half the read capacity of a strongly consistent read. The call timeout, including retries,
+     * is capped at the time left before the request's deadline.
+     */
+    private static GetItemRequest buildGetItemRequest(String agentId, AgentProjection projection, Deadline deadline) {
+        GetItemRequest.Builder builder = GetItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(Collections.singletonMap("agentId", AttributeValue.builder().s(agentId).build()))
+                .consistentRead(false);
+
+        if (!projection.isAll()) {
+            builder.projectionExpression(projection.getProjectionExpression())
+                    .expressionAttributeNames(projection.getExpressionAttributeNames());
+        }
+
+        if (!deadline.isNone()) {
+            deadline.check("reading agent " + agentId);
+            Duration timeout = Duration.ofMillis(Math.max(1L, deadline.remainingMillis()));
+            builder.overrideConfiguration(override -> override.apiCallTimeout(timeout));
+        }
+
+        return builder.build();
+    }
+
+    private static final class Holder {
+        static final AgentRepository INSTANCE = new AgentRepository(
+                DynamoDbClient.getInstance(),
+                DynamoDbAsyncClient.getInstance(),
+                AgentCache.getInstance(),
+                NegativeLookupCache.getInstance(),
+                KnownAgentFilter.getInstance()
+        );
+    }
+}
@@ -0,0 +1,89 @@
+package com.soulcorehub.lambda.agent;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.soulcorehub.api.Agent;
+import com.soulcorehub.lambda.agent.codec.AgentCodec;
+import com.soulcorehub.lambda.agent.model.BatchGetAgentsInput;
+import com.soulcorehub.lambda.agent.model.BatchGetAgentsOutput;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lambda handler for BatchGetAgents operation
+ */
+public class BatchGetAgentsHandler implements RequestHandler<BatchGetAgentsInput, BatchGetAgentsOutput> {
+    private static final Logger logger = LoggerFactory.getLogger(BatchGetAgentsHandler.class);
+    private static final int MAX_AGENT_IDS = EnvironmentConfig.getInt("BATCH_GET_AGENTS_MAX_IDS", 500);
+    private final AgentRepository agentRepository;
+
+    public BatchGetAgentsHandler() {
+        this.agentRepository = AgentRepository.getInstance();
+    }
+
+    @Override
+    public BatchGetAgentsOutput handleRequest(BatchGetAgentsInput input, Context context) {
+        List<String> requestedIds = input.getAgentIds();
+        
+        // Validate input
+        if (requestedIds == null || requestedIds.isEmpty()) {
+            throw new IllegalArgumentException("Agent IDs cannot be null or empty");
+        }
+        
+        if (requestedIds.size() > MAX_AGENT_IDS) {
+            throw new IllegalArgumentException("Cannot get more than " + MAX_AGENT_IDS + " agents at once");
+        }
+        
+        // Remove duplicates while keeping request order
+        Set<String> agentIds = new LinkedHashSet<>(requestedIds);
+        for (String agentId : agentIds) {
+            if (agentId == null || agentId.isEmpty()) {
+                throw new IllegalArgumentException("Agent ID cannot be null or empty");
+            }
+        }
+        
+        logger.info("Processing BatchGetAgents request for {} agents", agentIds.size());
+        
+        // Get items from the agent cache, falling back to parallel BatchGetItem requests
+        Map<String, Map<String, AttributeValue>> items;
+        try {
+            items = agentRepository.batchGetAgentItems(agentIds).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        
+        // Split into found agents and unknown IDs
+        List<Agent> agents = new ArrayList<>(items.size());
+        List<String> notFoundAgentIds = new ArrayList<>();
+        for (String agentId : agentIds) {
+            Map<String, AttributeValue> item = items.get(agentId);
+            if (item != null) {
+                agents.add(AgentCodec.decode(item));
+            } else {
+                notFoundAgentIds.add(agentId);
+            }
+        }
+        
+        // Create and return output
+        BatchGetAgentsOutput output = new BatchGetAgentsOutput();
+        output.setAgents(agents);
+        output.setNotFoundAgentIds(notFoundAgentIds);
+        
+        logger.info("Retrieved {} agents, {} not found", agents.size(), notFoundAgentIds.size());
+        return output;
+    }
+}
@@ -2,41 +2,67 @@ package com.soulcorehub.lambda.agent;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
-import com.soulcorehub.api.InvokeAgentInput;
 import com.soulcorehub.api.InvokeAgentOutput;
 import com.soulcorehub.api.UsageInfo;
-import com.soulcorehub.lambda.util.DynamoDbClient;
 import com.soulcorehub.lambda.exception.ResourceNotFoundException;
-import com.soulcorehub.lambda.agent.service.AgentService;
+import com.soulcorehub.lambda.agent.context.ContextStore;
+import com.soulcorehub.lambda.agent.model.InvokeAgentRequest;
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+import com.soulcorehub.lambda.agent.service.AgentRequest;
 import com.soulcorehub.lambda.agent.service.AgentServiceFactory;
+import com.soulcorehub.lambda.agent.tokenizer.TokenCounter;
+import com.soulcorehub.lambda.agent.tokenizer.Tokenizers;
+import com.soulcorehub.lambda.util.Deadline;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.Futures;
 
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
-import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
 
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Lambda handler for InvokeAgent operation
+ * Lambda handler for InvokeAgent operation.
+ * Invocations go through {@link AgentInvoker}, which answers repeated deterministic requests
+ * from the response cache and coalesces identical concurrent requests. Contexts can be sent inline
+ * or as a contextRef into the {@link ContextStore}. All work is bounded by a deadline derived
+ * from the Lambda context's remaining time. When maxTokens is set, the prompt and context are
+ * tokenized while the lookup is in flight and requests that cannot fit the model's context
+ * window are rejected before reaching the agent.
  */
-public class InvokeAgentHandler implements RequestHandler<InvokeAgentInput, InvokeAgentOutput> {
+public class InvokeAgentHandler implements RequestHandler<InvokeAgentRequest, InvokeAgentOutput> {
     private static final Logger logger = LoggerFactory.getLogger(InvokeAgentHandler.class);
-    private static final String TABLE_NAME = System.getenv("AGENTS_TABLE_NAME");
-    private final DynamoDbClient dynamoDbClient;
-    private final AgentServiceFactory agentServiceFactory;
+    private static final int CONTEXT_WINDOW_TOKENS = EnvironmentConfig.getInt("AGENT_CONTEXT_WINDOW_TOKENS", 128000);
+    private static final TokenCounter TOKENS = Tokenizers.getDefault();
+    private final AgentRepository agentRepository;
+    private final AgentInvoker agentInvoker;
+    private final ContextStore contextStore;
 
     public InvokeAgentHandler() {
-        this.dynamoDbClient = new DynamoDbClient();
-        this.agentServiceFactory = new AgentServiceFactory();
+        this(AgentRepository.getInstance(), new AgentInvoker(AgentServiceFactory.getInstance()), ContextStore.getInstance());
+    }
+
+    /**
+     * Creates a handler with explicit dependencies, for tests and benchmarks
+     *
+     * @param agentRepository The repository used to look up agents
+     * @param agentInvoker    The invoker used to call agent services
+     * @param contextStore    The store used to resolve context references
+     */
+    public InvokeAgentHandler(AgentRepository agentRepository, AgentInvoker agentInvoker, ContextStore contextStore) {
+        this.agentRepository = agentRepository;
+        this.agentInvoker = agentInvoker;
+        this.contextStore = contextStore;
     }
 
     @Override
-    public InvokeAgentOutput handleRequest(InvokeAgentInput input, Context context) {
+    public InvokeAgentOutput handleRequest(InvokeAgentRequest input, Context context) {
         logger.info("Processing InvokeAgent request for agentId: {}", input.getAgentId());
         
         // Validate input
@@ -48,58 +74,91 @@ public class InvokeAgentHandler implements RequestHandler<InvokeAgentInput, Invo
             throw new IllegalArgumentException("Prompt cannot be null or empty");
         }
         
-        // Get agent from DynamoDB
-        Map<String, AttributeValue> key = new HashMap<>();
-        key.put("agentId", AttributeValue.builder().s(input.getAgentId()).build());
+        Deadline deadline = Deadline.fromContext(context);
         
-        GetItemRequest request = GetItemRequest.builder()
-                .tableName(TABLE_NAME)
-                .key(key)
-                .build();
+        // Start the agent lookup, reading only the agent type and version on a cache miss
+        CompletableFuture<Map<String, AttributeValue>> agentLookup =
+                agentRepository.getAgentItemAsync(input.getAgentId(), AgentProjection.INVOKE, deadline);
         
-        GetItemResponse response = dynamoDbClient.getClient().getItem(request);
-        
-        // Check if agent exists
-        if (response.item() == null || response.item().isEmpty()) {
-            throw new ResourceNotFoundException("Agent not found", "Agent", input.getAgentId());
+        // Resolve the context and prepare the agent request and payload while the lookup is in flight
+        String agentContext = contextStore.resolve(input.getContext(), input.getContextRef());
+        if (input.getMaxTokens() != null) {
+            checkTokenBudget(input.getPrompt(), agentContext, input.getMaxTokens());
         }
         
-        // Get agent type
-        String agentType = response.item().get("type").s();
-        
-        // Get appropriate agent service
-        AgentService agentService = agentServiceFactory.getAgentService(agentType);
-        
-        // Start timing
-        long startTime = System.currentTimeMillis();
-        
-        // Invoke agent
-        Map<String, Object> result = agentService.invokeAgent(
+        AgentRequest agentRequest = new AgentRequest(
                 input.getAgentId(),
                 input.getPrompt(),
                 input.getParameters(),
-                input.getContext(),
+                agentContext,
                 input.getMaxTokens(),
-                input.getTemperature()
+                input.getTemperature(),
+                deadline
         );
         
+        // Route to the agent service once the lookup completes, without blocking in between
+        AtomicLong startTime = new AtomicLong();
+        CompletableFuture<AgentInvocationResult> invocation = Futures.compose(agentLookup, item -> {
+            // Check if agent exists
+            if (item == null) {
+                throw new ResourceNotFoundException("Agent not found", "Agent", input.getAgentId(), false);
+            }
+            
+            // Start timing and invoke agent
+            startTime.set(System.currentTimeMillis());
+            return agentInvoker.invoke(agentRequest, item);
+        });
+        
+        // Give up and cancel the lookup or backend call if it would outlive the function
+        AgentInvocationResult result = await(deadline.bound(invocation, "agent invocation"));
+        
         // Calculate processing time
-        long processingTime = System.currentTimeMillis() - startTime;
+        long processingTime = System.currentTimeMillis() - startTime.get();
         
         // Create usage info
         UsageInfo usageInfo = new UsageInfo();
-        usageInfo.setPromptTokens((Integer) result.getOrDefault("promptTokens", 0));
-        usageInfo.setCompletionTokens((Integer) result.getOrDefault("completionTokens", 0));
-        usageInfo.setTotalTokens((Integer) result.getOrDefault("totalTokens", 0));
+        usageInfo.setPromptTokens(result.getPromptTokens());
+        usageInfo.setCompletionTokens(result.getCompletionTokens());
+        usageInfo.setTotalTokens(result.getTotalTokens());
         usageInfo.setProcessingTimeMs(processingTime);
         
         // Create and return output
         InvokeAgentOutput output = new InvokeAgentOutput();
-        output.setResponse((String) result.get("response"));
-        output.setMetadata((Map<String, String>) result.getOrDefault("metadata", new HashMap<>()));
+        output.setResponse(result.getResponse());
+        output.setMetadata(result.getMetadata());
         output.setUsage(usageInfo);
         
         logger.info("Successfully invoked agent: {}", input.getAgentId());
         return output;
     }
+    
+    /**
+     * Rejects requests whose prompt, context and requested completion exceed the context window
+     */
+    private static void checkTokenBudget(String prompt, String agentContext, int maxTokens) {
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("Max tokens must be positive");
+        }
+        
+        int promptTokens = TOKENS.countTokens(prompt) + TOKENS.countTokens(agentContext);
+        if ((long) promptTokens + maxTokens > CONTEXT_WINDOW_TOKENS) {
+            throw new IllegalArgumentException("Prompt and context use " + promptTokens
+                    + " tokens, leaving fewer than the requested " + maxTokens
+                    + " of the " + CONTEXT_WINDOW_TOKENS + " token context window");
+        }
+    }
+    
+    /**
+     * Waits for the invocation to complete, rethrowing lookup and service errors unwrapped
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,222 @@
+package com.soulcorehub.lambda.agent;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.soulcorehub.lambda.agent.context.ContextStore;
+import com.soulcorehub.lambda.agent.model.InvokeAgentRequest;
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+import com.soulcorehub.lambda.agent.service.AgentRequest;
+import com.soulcorehub.lambda.agent.service.AgentService;
+import com.soulcorehub.lambda.agent.service.AgentServiceFactory;
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+import com.soulcorehub.lambda.exception.ResourceNotFoundException;
+import com.soulcorehub.lambda.util.Deadline;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lambda handler for streaming InvokeAgent responses.
+ * The response is newline-delimited JSON: one {@code chunk} event per piece of generated text,
+ * flushed as soon as it arrives, followed by a {@code usage} trailer with token usage and metadata.
+ * A failure after streaming has started is reported as a final {@code error} event. When the
+ * Lambda deadline is about to pass, streaming stops and the chunks already sent are kept as
+ * partial output, followed by an {@code error} event marked {@code partial}.
+ *
+ * <p>The Java managed runtime buffers a {@link RequestStreamHandler}'s output and returns it when
+ * the handler completes, so callers of this handler receive every event at once. For incremental
+ * delivery, deploy {@link StreamingServer} instead, which serves the same events over HTTP behind
+ * the Lambda Web Adapter in response streaming mode.
+ */
+public class InvokeAgentStreamHandler implements RequestStreamHandler {
+    private static final Logger logger = LoggerFactory.getLogger(InvokeAgentStreamHandler.class);
+    private static final Gson GSON = new Gson();
+    private final AgentRepository agentRepository;
+    private final AgentServiceFactory agentServiceFactory;
+    private final ContextStore contextStore;
+
+    public InvokeAgentStreamHandler() {
+        this.agentRepository = AgentRepository.getInstance();
+        this.agentServiceFactory = AgentServiceFactory.getInstance();
+        this.contextStore = ContextStore.getInstance();
+    }
+
+    @Override
+    public void handleRequest(InputStream inputStream, OutputStream outputStream, Context context) throws IOException {
+        prepare(parse(inputStream), Deadline.fromContext(context)).streamTo(outputStream);
+    }
+
+    /**
+     * Parses a streaming InvokeAgent request body
+     *
+     * @param inputStream The JSON request body
+     * @return The request
+     */
+    static InvokeAgentRequest parse(InputStream inputStream) {
+        try {
+            return GSON.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), InvokeAgentRequest.class);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Invalid InvokeAgent request", e);
+        }
+    }
+
+    /**
+     * Validates a request and resolves its agent and context, so lookup and validation errors
+     * are raised before anything is written to the caller
+     *
+     * @param input    The request
+     * @param deadline The deadline of the request
+     * @return The invocation, ready to stream
+     */
+    Invocation prepare(InvokeAgentRequest input, Deadline deadline) {
+        // Validate input
+        if (input == null || input.getAgentId() == null || input.getAgentId().isEmpty()) {
+            throw new IllegalArgumentException("Agent ID cannot be null or empty");
+        }
+
+        if (input.getPrompt() == null || input.getPrompt().isEmpty()) {
+            throw new IllegalArgumentException("Prompt cannot be null or empty");
+        }
+
+        logger.info("Processing streaming InvokeAgent request for agentId: {}", input.getAgentId());
+
+        // Get agent type from the agent cache, falling back to DynamoDB
+        Map<String, AttributeValue> item = agentRepository.getAgentItem(input.getAgentId(), AgentProjection.INVOKE, deadline);
+        if (item == null) {
+            throw new ResourceNotFoundException("Agent not found", "Agent", input.getAgentId(), false);
+        }
+
+        AgentService agentService = agentServiceFactory.getAgentService(item.get("type").s());
+        AgentRequest agentRequest = new AgentRequest(
+                input.getAgentId(),
+                input.getPrompt(),
+                input.getParameters(),
+                contextStore.resolve(input.getContext(), input.getContextRef()),
+                input.getMaxTokens(),
+                input.getTemperature(),
+                deadline
+        );
+        return new Invocation(agentService, agentRequest);
+    }
+
+    /**
+     * A validated request whose agent service is resolved
+     */
+    static final class Invocation {
+        private final AgentService agentService;
+        private final AgentRequest agentRequest;
+
+        private Invocation(AgentService agentService, AgentRequest agentRequest) {
+            this.agentService = agentService;
+            this.agentRequest = agentRequest;
+        }
+
+        /**
+         * Streams the response events to the caller
+         *
+         * @param outputStream The response body
+         */
+        void streamTo(OutputStream outputStream) {
+            String agentId = agentRequest.getAgentId();
+            Deadline deadline = agentRequest.getDeadline();
+            Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            long startTime = System.currentTimeMillis();
+
+            try {
+                // Forward each chunk as soon as the service emits it
+                AgentInvocationResult result = agentService.streamAgent(agentRequest, text -> {
+                    // Stop the service once the deadline passes; chunks already sent stay with the caller
+                    if (deadline.isExpired()) {
+                        throw new DeadlineExceededException("Deadline exceeded while streaming");
+                    }
+
+                    JsonObject event = new JsonObject();
+                    event.addProperty("type", "chunk");
+                    event.addProperty("text", text);
+                    writeEvent(writer, event);
+                });
+
+                // Send usage and metadata as the trailer
+                JsonObject usage = new JsonObject();
+                usage.addProperty("promptTokens", result.getPromptTokens());
+                usage.addProperty("completionTokens", result.getCompletionTokens());
+                usage.addProperty("totalTokens", result.getTotalTokens());
+                usage.addProperty("processingTimeMs", System.currentTimeMillis() - startTime);
+
+                JsonObject trailer = new JsonObject();
+                trailer.addProperty("type", "usage");
+                trailer.add("usage", usage);
+                trailer.add("metadata", GSON.toJsonTree(result.getMetadata()));
+                writeEvent(writer, trailer);
+
+                logger.info("Successfully streamed agent: {}", agentId);
+            } catch (StreamClosedException e) {
+                // The caller is gone, so there is nobody to send an error event to
+                logger.warn("Caller disconnected while streaming agent: {}", agentId);
+            } catch (DeadlineExceededException e) {
+                logger.warn("Deadline exceeded streaming agent: {}", agentId);
+
+                JsonObject error = new JsonObject();
+                error.addProperty("type", "error");
+                error.addProperty("message", "Deadline exceeded; the response is incomplete");
+                error.addProperty("partial", true);
+                writeFinalEvent(writer, error);
+            } catch (RuntimeException e) {
+                logger.error("Error streaming agent: {}", agentId, e);
+
+                JsonObject error = new JsonObject();
+                error.addProperty("type", "error");
+                error.addProperty("message", "Failed to invoke agent");
+                writeFinalEvent(writer, error);
+            }
+        }
+    }
+
+    /**
+     * Writes the error event that ends a failed stream, giving up quietly if the caller has gone
+     */
+    private static void writeFinalEvent(Writer writer, JsonObject event) {
+        try {
+            writeEvent(writer, event);
+        } catch (StreamClosedException e) {
+            logger.warn("Caller disconnected before the error event was sent");
+        }
+    }
+
+    /**
+     * Writes one event line and flushes it to the caller
+     */
+    private static void writeEvent(Writer writer, JsonObject event) {
+        try {
+            writer.write(GSON.toJson(event));
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new StreamClosedException(e);
+        }
+    }
+
+    /**
+     * Thrown when the caller's end of the stream fails, so it is not mistaken for an agent error
+     */
+    private static final class StreamClosedException extends UncheckedIOException {
+        private StreamClosedException(IOException cause) {
+            super("Failed to write stream event", cause);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.soulcorehub.lambda.agent;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.soulcorehub.api.UsageInfo;
+import com.soulcorehub.lambda.agent.context.ContextStore;
+import com.soulcorehub.lambda.agent.model.InvokeAgentRequest;
+import com.soulcorehub.lambda.agent.model.InvokeAgentsInput;
+import com.soulcorehub.lambda.agent.model.InvokeAgentsOutput;
+import com.soulcorehub.lambda.agent.model.InvokeAgentsResult;
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+import com.soulcorehub.lambda.agent.service.AgentRequest;
+import com.soulcorehub.lambda.agent.service.AgentServiceFactory;
+import com.soulcorehub.lambda.exception.AgentUnavailableException;
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+import com.soulcorehub.lambda.exception.ResourceNotFoundException;
+import com.soulcorehub.lambda.util.Deadline;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lambda handler for InvokeAgents operation.
+ * All agents in the batch are resolved with one batched lookup, then the invocations run in
+ * parallel with at most {@code maxConcurrency} in flight. A failed invocation is reported in its
+ * own result and does not fail the batch. Invocations still running when the Lambda deadline
+ * approaches are cancelled and reported as DeadlineExceeded.
+ */
+public class InvokeAgentsHandler implements RequestHandler<InvokeAgentsInput, InvokeAgentsOutput> {
+    private static final Logger logger = LoggerFactory.getLogger(InvokeAgentsHandler.class);
+    private static final int MAX_ITEMS = EnvironmentConfig.getInt("INVOKE_AGENTS_MAX_ITEMS", 1000);
+    private static final int DEFAULT_CONCURRENCY = EnvironmentConfig.getInt("INVOKE_AGENTS_DEFAULT_CONCURRENCY", 8);
+    private static final int MAX_CONCURRENCY = EnvironmentConfig.getInt("INVOKE_AGENTS_MAX_CONCURRENCY", 32);
+
+    private final AgentRepository agentRepository;
+    private final AgentInvoker agentInvoker;
+    private final ContextStore contextStore;
+
+    public InvokeAgentsHandler() {
+        this.agentRepository = AgentRepository.getInstance();
+        this.agentInvoker = new AgentInvoker(AgentServiceFactory.getInstance());
+        this.contextStore = ContextStore.getInstance();
+    }
+
+    @Override
+    public InvokeAgentsOutput handleRequest(InvokeAgentsInput input, Context context) {
+        List<InvokeAgentRequest> items = input.getItems();
+
+        // Validate input
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Items cannot be null or empty");
+        }
+
+        if (items.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("Cannot invoke more than " + MAX_ITEMS + " agents at once");
+        }
+
+        int concurrency = input.getMaxConcurrency() != null ? input.getMaxConcurrency() : DEFAULT_CONCURRENCY;
+        if (concurrency <= 0 || concurrency > MAX_CONCURRENCY) {
+            throw new IllegalArgumentException("Max concurrency must be between 1 and " + MAX_CONCURRENCY);
+        }
+
+        logger.info("Processing InvokeAgents request with {} items and concurrency {}", items.size(), concurrency);
+        long startTime = System.currentTimeMillis();
+        Deadline deadline = Deadline.fromContext(context);
+
+        // Resolve every distinct agent with one batched lookup
+        Set<String> agentIds = new LinkedHashSet<>();
+        for (InvokeAgentRequest item : items) {
+            if (item != null && item.getAgentId() != null && !item.getAgentId().isEmpty()) {
+                agentIds.add(item.getAgentId());
+            }
+        }
+        Map<String, Map<String, AttributeValue>> agentItems = agentIds.isEmpty()
+                ? new HashMap<>()
+                : await(deadline.bound(agentRepository.batchGetAgentItems(agentIds), "agent lookup"));
+
+        // Start the invocations, waiting for a permit before each one
+        Semaphore permits = new Semaphore(concurrency);
+        List<CompletableFuture<AgentInvocationResult>> invocations = new ArrayList<>(items.size());
+        for (InvokeAgentRequest item : items) {
+            invocations.add(start(item, agentItems, permits, deadline));
+        }
+
+        // Collect the results in request order
+        List<InvokeAgentsResult> results = new ArrayList<>(items.size());
+        int promptTokens = 0;
+        int completionTokens = 0;
+        int totalTokens = 0;
+        int failures = 0;
+        for (int i = 0; i < items.size(); i++) {
+            InvokeAgentsResult result = new InvokeAgentsResult();
+            result.setIndex(i);
+            result.setAgentId(items.get(i) != null ? items.get(i).getAgentId() : null);
+
+            try {
+                AgentInvocationResult invocation = await(invocations.get(i));
+                result.setResponse(invocation.getResponse());
+                result.setMetadata(invocation.getMetadata());
+                result.setUsage(usage(invocation.getPromptTokens(), invocation.getCompletionTokens(),
+                        invocation.getTotalTokens(), null));
+
+                promptTokens += invocation.getPromptTokens();
+                completionTokens += invocation.getCompletionTokens();
+                totalTokens += invocation.getTotalTokens();
+            } catch (RuntimeException e) {
+                failures++;
+                result.setErrorCode(errorCode(e));
+                result.setErrorMessage(e.getMessage());
+            }
+
+            results.add(result);
+        }
+
+        // Create and return output
+        InvokeAgentsOutput output = new InvokeAgentsOutput();
+        output.setResults(results);
+        output.setUsage(usage(promptTokens, completionTokens, totalTokens, System.currentTimeMillis() - startTime));
+
+        logger.info("Invoked {} agents with {} failures", items.size(), failures);
+        return output;
+    }
+
+    /**
+     * Starts one invocation once a permit is available. Validation and lookup errors
+     * complete the returned future exceptionally instead of failing the batch.
+     */
+    private CompletableFuture<AgentInvocationResult> start(
+            InvokeAgentRequest item,
+            Map<String, Map<String, AttributeValue>> agentItems,
+            Semaphore permits,
+            Deadline deadline
+    ) {
+        CompletableFuture<AgentInvocationResult> invocation;
+        try {
+            if (item == null || item.getAgentId() == null || item.getAgentId().isEmpty()) {
+                throw new IllegalArgumentException("Agent ID cannot be null or empty");
+            }
+
+            if (item.getPrompt() == null || item.getPrompt().isEmpty()) {
+                throw new IllegalArgumentException("Prompt cannot be null or empty");
+            }
+
+            Map<String, AttributeValue> agentItem = agentItems.get(item.getAgentId());
+            if (agentItem == null) {
+                throw new ResourceNotFoundException("Agent not found", "Agent", item.getAgentId(), false);
+            }
+
+            AgentRequest agentRequest = new AgentRequest(
+                    item.getAgentId(),
+                    item.getPrompt(),
+                    item.getParameters(),
+                    contextStore.resolve(item.getContext(), item.getContextRef()),
+                    item.getMaxTokens(),
+                    item.getTemperature(),
+                    deadline
+            );
+
+            if (!acquire(permits, deadline)) {
+                throw new DeadlineExceededException("Deadline exceeded before the invocation started");
+            }
+            try {
+                invocation = deadline.bound(agentInvoker.invoke(agentRequest, agentItem), "agent invocation");
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        invocation.whenComplete((result, error) -> permits.release());
+        return invocation;
+    }
+
+    /**
+     * Waits for a concurrency permit until the deadline
+     */
+    private static boolean acquire(Semaphore permits, Deadline deadline) {
+        try {
+            return permits.tryAcquire(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static UsageInfo usage(int promptTokens, int completionTokens, int totalTokens, Long processingTimeMs) {
+        UsageInfo usageInfo = new UsageInfo();
+        usageInfo.setPromptTokens(promptTokens);
+        usageInfo.setCompletionTokens(completionTokens);
+        usageInfo.setTotalTokens(totalTokens);
+        if (processingTimeMs != null) {
+            usageInfo.setProcessingTimeMs(processingTimeMs);
+        }
+        return usageInfo;
+    }
+
+    private static String errorCode(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return "ResourceNotFound";
+        }
+        if (e instanceof AgentUnavailableException) {
+            return "AgentUnavailable";
+        }
+        if (e instanceof DeadlineExceededException) {
+            return "DeadlineExceeded";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "ValidationError";
+        }
+        return "InternalError";
+    }
+
+    /**
+     * Waits for a future, rethrowing its error unwrapped
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
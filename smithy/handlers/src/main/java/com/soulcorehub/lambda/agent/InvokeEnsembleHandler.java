@@ -0,0 +1,149 @@
+package com.soulcorehub.lambda.agent;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.soulcorehub.api.InvokeAgentOutput;
+import com.soulcorehub.api.UsageInfo;
+import com.soulcorehub.lambda.agent.context.ContextStore;
+import com.soulcorehub.lambda.agent.ensemble.AgentEnsemble;
+import com.soulcorehub.lambda.agent.ensemble.EnsemblePolicy;
+import com.soulcorehub.lambda.agent.model.InvokeEnsembleInput;
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+import com.soulcorehub.lambda.agent.service.AgentRequest;
+import com.soulcorehub.lambda.agent.service.AgentServiceFactory;
+import com.soulcorehub.lambda.exception.ResourceNotFoundException;
+import com.soulcorehub.lambda.util.Deadline;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lambda handler for InvokeEnsemble operation.
+ * Sends one prompt to several agents concurrently, so the call takes as long as the slowest
+ * agent (or the fastest, for FIRST_SUCCESS) rather than the sum of all of them.
+ */
+public class InvokeEnsembleHandler implements RequestHandler<InvokeEnsembleInput, InvokeAgentOutput> {
+    private static final Logger logger = LoggerFactory.getLogger(InvokeEnsembleHandler.class);
+    private static final int MAX_AGENTS = EnvironmentConfig.getInt("INVOKE_ENSEMBLE_MAX_AGENTS", 5);
+
+    private final AgentRepository agentRepository;
+    private final AgentInvoker agentInvoker;
+    private final AgentEnsemble agentEnsemble;
+    private final ContextStore contextStore;
+
+    public InvokeEnsembleHandler() {
+        this.agentRepository = AgentRepository.getInstance();
+        this.agentInvoker = new AgentInvoker(AgentServiceFactory.getInstance());
+        this.agentEnsemble = new AgentEnsemble();
+        this.contextStore = ContextStore.getInstance();
+    }
+
+    @Override
+    public InvokeAgentOutput handleRequest(InvokeEnsembleInput input, Context context) {
+        // Validate input
+        if (input.getAgentIds() == null || input.getAgentIds().isEmpty()) {
+            throw new IllegalArgumentException("Agent IDs cannot be null or empty");
+        }
+
+        List<String> agentIds = new ArrayList<>(new LinkedHashSet<>(input.getAgentIds()));
+        for (String agentId : agentIds) {
+            if (agentId == null || agentId.isEmpty()) {
+                throw new IllegalArgumentException("Agent ID cannot be null or empty");
+            }
+        }
+
+        if (agentIds.size() > MAX_AGENTS) {
+            throw new IllegalArgumentException("Cannot invoke more than " + MAX_AGENTS + " agents in an ensemble");
+        }
+
+        if (input.getPrompt() == null || input.getPrompt().isEmpty()) {
+            throw new IllegalArgumentException("Prompt cannot be null or empty");
+        }
+
+        EnsemblePolicy policy = EnsemblePolicy.parse(input.getMergePolicy());
+        int quorum = input.getQuorum() != null ? input.getQuorum() : agentIds.size() / 2 + 1;
+        if (policy == EnsemblePolicy.QUORUM && (quorum <= 0 || quorum > agentIds.size())) {
+            throw new IllegalArgumentException("Quorum must be between 1 and " + agentIds.size());
+        }
+
+        logger.info("Processing InvokeEnsemble request for {} agents with policy {}", agentIds.size(), policy);
+
+        Deadline deadline = Deadline.fromContext(context);
+
+        // Start resolving every agent with one batched lookup
+        CompletableFuture<Map<String, Map<String, AttributeValue>>> agentLookup =
+                agentRepository.batchGetAgentItems(agentIds);
+
+        // Resolve the context and prepare one request per agent while the lookup is in flight
+        String resolvedContext = contextStore.resolve(input.getContext(), input.getContextRef());
+        Map<String, AgentRequest> requests = new HashMap<>();
+        for (String agentId : agentIds) {
+            requests.put(agentId, new AgentRequest(
+                    agentId,
+                    input.getPrompt(),
+                    input.getParameters(),
+                    resolvedContext,
+                    input.getMaxTokens(),
+                    input.getTemperature(),
+                    deadline
+            ));
+        }
+
+        Map<String, Map<String, AttributeValue>> items = await(deadline.bound(agentLookup, "agent lookup"));
+        for (String agentId : agentIds) {
+            if (!items.containsKey(agentId)) {
+                throw new ResourceNotFoundException("Agent not found", "Agent", agentId, false);
+            }
+        }
+
+        // Invoke every agent concurrently and merge the results, cancelling them at the deadline
+        long startTime = System.currentTimeMillis();
+        AgentInvocationResult result = await(deadline.bound(agentEnsemble.invoke(
+                agentIds,
+                agentId -> agentInvoker.invoke(requests.get(agentId), items.get(agentId)),
+                policy,
+                quorum
+        ), "ensemble invocation"));
+
+        // Create usage info
+        UsageInfo usageInfo = new UsageInfo();
+        usageInfo.setPromptTokens(result.getPromptTokens());
+        usageInfo.setCompletionTokens(result.getCompletionTokens());
+        usageInfo.setTotalTokens(result.getTotalTokens());
+        usageInfo.setProcessingTimeMs(System.currentTimeMillis() - startTime);
+
+        // Create and return output
+        InvokeAgentOutput output = new InvokeAgentOutput();
+        output.setResponse(result.getResponse());
+        output.setMetadata(result.getMetadata());
+        output.setUsage(usageInfo);
+
+        logger.info("Successfully invoked ensemble of {} agents", agentIds.size());
+        return output;
+    }
+
+    /**
+     * Waits for a future, rethrowing its error unwrapped
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.soulcorehub.lambda.agent;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.soulcorehub.api.Agent;
+import com.soulcorehub.lambda.agent.codec.AgentCodec;
+import com.soulcorehub.lambda.agent.model.ListAgentsInput;
+import com.soulcorehub.lambda.agent.model.ListAgentsOutput;
+import com.soulcorehub.lambda.exception.AccessDeniedException;
+import com.soulcorehub.lambda.util.DynamoDbAsyncClient;
+import com.soulcorehub.lambda.util.DynamoDbClient;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.S3AsyncClient;
+
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lambda handler for ListAgents operation.
+ * Returns one page of agents per call, reading at most {@code limit} items so page latency
+ * stays flat regardless of table size. In export mode it instead runs a segmented parallel
+ * scan, writes every matching agent to S3 and returns the export's location.
+ *
+ * <p>Export is configured with environment variables:
+ * <ul>
+ *   <li>LIST_AGENTS_EXPORT_ENABLED: whether export mode is accepted (default false)</li>
+ *   <li>LIST_AGENTS_EXPORT_ALIAS: the function alias export must be invoked through (default admin)</li>
+ *   <li>LIST_AGENTS_EXPORT_BUCKET: the bucket exports are written to</li>
+ *   <li>LIST_AGENTS_EXPORT_PREFIX: the key prefix of exports (default agent-exports/)</li>
+ * </ul>
+ */
+public class ListAgentsHandler implements RequestHandler<ListAgentsInput, ListAgentsOutput> {
+    private static final Logger logger = LoggerFactory.getLogger(ListAgentsHandler.class);
+    private static final String TABLE_NAME = System.getenv("AGENTS_TABLE_NAME");
+    private static final int DEFAULT_LIMIT = EnvironmentConfig.getInt("LIST_AGENTS_DEFAULT_LIMIT", 50);
+    private static final int MAX_LIMIT = EnvironmentConfig.getInt("LIST_AGENTS_MAX_LIMIT", 100);
+    private static final boolean EXPORT_ENABLED = EnvironmentConfig.getBoolean("LIST_AGENTS_EXPORT_ENABLED", false);
+    private static final int DEFAULT_SEGMENTS = EnvironmentConfig.getInt("LIST_AGENTS_EXPORT_SEGMENTS", 4);
+    private static final int MAX_SEGMENTS = EnvironmentConfig.getInt("LIST_AGENTS_EXPORT_MAX_SEGMENTS", 16);
+    private static final String EXPORT_ALIAS = EnvironmentConfig.getString("LIST_AGENTS_EXPORT_ALIAS", "admin");
+    private static final String EXPORT_BUCKET = System.getenv("LIST_AGENTS_EXPORT_BUCKET");
+    private static final String EXPORT_PREFIX = EnvironmentConfig.getString("LIST_AGENTS_EXPORT_PREFIX", "agent-exports/");
+
+    private static final Gson GSON = new Gson();
+    private static final Type TOKEN_TYPE = new TypeToken<Map<String, String>>() { }.getType();
+
+    private final DynamoDbClient dynamoDbClient;
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+
+    public ListAgentsHandler() {
+        this.dynamoDbClient = DynamoDbClient.getInstance();
+        this.dynamoDbAsyncClient = DynamoDbAsyncClient.getInstance();
+    }
+
+    @Override
+    public ListAgentsOutput handleRequest(ListAgentsInput input, Context context) {
+        if (Boolean.TRUE.equals(input.getExportAll())) {
+            return exportAgents(input, context);
+        }
+
+        // Validate input
+        int limit = input.getLimit() != null ? input.getLimit() : DEFAULT_LIMIT;
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        logger.info("Processing ListAgents request with limit: {}", limit);
+
+        // Scan one page. Limit bounds the items read, so filtered pages may hold fewer agents.
+        ScanRequest.Builder request = filteredScan(input).limit(limit);
+        if (input.getNextToken() != null && !input.getNextToken().isEmpty()) {
+            request.exclusiveStartKey(decodeToken(input.getNextToken()));
+        }
+
+        ScanResponse response = dynamoDbClient.getClient().scan(request.build());
+
+        List<Agent> agents = new ArrayList<>(response.items().size());
+        for (Map<String, AttributeValue> item : response.items()) {
+            agents.add(AgentCodec.decode(item));
+        }
+
+        // Create and return output
+        ListAgentsOutput output = new ListAgentsOutput();
+        output.setAgents(agents);
+        if (response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()) {
+            output.setNextToken(encodeToken(response.lastEvaluatedKey()));
+        }
+
+        logger.info("Listed {} agents", agents.size());
+        return output;
+    }
+
+    /**
+     * Exports every matching agent to S3 with a segmented parallel scan. Each scanned page is
+     * written as its own newline-delimited JSON object as soon as it is read, so memory use and
+     * the response size stay flat however large the table is.
+     */
+    private ListAgentsOutput exportAgents(ListAgentsInput input, Context context) {
+        if (!EXPORT_ENABLED) {
+            throw new IllegalArgumentException("Agent export is not enabled");
+        }
+        authorizeExport(context);
+        if (EXPORT_BUCKET == null || EXPORT_BUCKET.isEmpty()) {
+            throw new IllegalStateException("LIST_AGENTS_EXPORT_BUCKET is not set");
+        }
+
+        int segments = input.getSegments() != null ? input.getSegments() : DEFAULT_SEGMENTS;
+        if (segments <= 0 || segments > MAX_SEGMENTS) {
+            throw new IllegalArgumentException("Segments must be between 1 and " + MAX_SEGMENTS);
+        }
+
+        String prefix = EXPORT_PREFIX + UUID.randomUUID() + "/";
+        logger.info("Exporting agents with {} scan segments to s3://{}/{}", segments, EXPORT_BUCKET, prefix);
+        long startTime = System.currentTimeMillis();
+
+        // Each segment pages through its share of the table independently
+        List<CompletableFuture<Integer>> workers = new ArrayList<>(segments);
+        for (int segment = 0; segment < segments; segment++) {
+            ScanRequest request = filteredScan(input)
+                    .segment(segment)
+                    .totalSegments(segments)
+                    .build();
+            workers.add(exportSegment(request, prefix + String.format("segment-%04d/", segment), 0));
+        }
+
+        int exported = 0;
+        try {
+            for (CompletableFuture<Integer> worker : workers) {
+                exported += worker.join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        ListAgentsOutput output = new ListAgentsOutput();
+        output.setExportLocation("s3://" + EXPORT_BUCKET + "/" + prefix);
+        output.setExportedCount(exported);
+
+        logger.info("Exported {} agents in {} ms", exported, System.currentTimeMillis() - startTime);
+        return output;
+    }
+
+    /**
+     * Only invocations through the export alias may export. The alias's resource policy decides
+     * which principals may invoke it, so the table can only be dumped by callers granted that alias.
+     */
+    private static void authorizeExport(Context context) {
+        String functionArn = context != null ? context.getInvokedFunctionArn() : null;
+
+        // arn:aws:lambda:region:account:function:name[:qualifier]
+        String[] parts = functionArn != null ? functionArn.split(":") : new String[0];
+        String qualifier = parts.length > 7 ? parts[7] : null;
+
+        if (!EXPORT_ALIAS.equals(qualifier)) {
+            logger.warn("Rejected agent export invoked through {}", functionArn);
+            throw new AccessDeniedException("Agent export must be invoked through the " + EXPORT_ALIAS + " alias");
+        }
+    }
+
+    /**
+     * Scans all pages of one segment, writing each page to S3 while the next page is read
+     *
+     * @return A future completed with the number of agents written
+     */
+    private CompletableFuture<Integer> exportSegment(ScanRequest request, String segmentPrefix, int page) {
+        return dynamoDbAsyncClient.getClient().scan(request).thenCompose(response -> {
+            CompletableFuture<Integer> written = writePage(segmentPrefix + String.format("page-%06d.ndjson", page), response);
+
+            if (!response.hasLastEvaluatedKey() || response.lastEvaluatedKey().isEmpty()) {
+                return written;
+            }
+
+            ScanRequest next = request.toBuilder().exclusiveStartKey(response.lastEvaluatedKey()).build();
+            return written.thenCombine(exportSegment(next, segmentPrefix, page + 1), Integer::sum);
+        });
+    }
+
+    /**
+     * Writes one scanned page as newline-delimited JSON agents
+     */
+    private CompletableFuture<Integer> writePage(String key, ScanResponse response) {
+        if (response.items().isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        StringBuilder body = new StringBuilder();
+        for (Map<String, AttributeValue> item : response.items()) {
+            body.append(GSON.toJson(AgentCodec.decode(item))).append('\n');
+        }
+
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(EXPORT_BUCKET)
+                .key(key)
+                .contentType("application/x-ndjson")
+                .build();
+        // Only export mode writes to S3, so the client is built on first use
+        return S3AsyncClient.getInstance().getClient()
+                .putObject(request, AsyncRequestBody.fromString(body.toString(), StandardCharsets.UTF_8))
+                .thenApply(ignored -> response.items().size());
+    }
+
+    /**
+     * Creates a scan request with the status and type filters applied
+     */
+    private static ScanRequest.Builder filteredScan(ListAgentsInput input) {
+        ScanRequest.Builder builder = ScanRequest.builder().tableName(TABLE_NAME);
+
+        List<String> conditions = new ArrayList<>(2);
+        Map<String, String> names = new HashMap<>();
+        Map<String, AttributeValue> values = new HashMap<>();
+
+        // status and type are reserved words, so both go through attribute name placeholders
+        if (input.getStatus() != null && !input.getStatus().isEmpty()) {
+            conditions.add("#status = :status");
+            names.put("#status", "status");
+            values.put(":status", AttributeValue.builder().s(input.getStatus()).build());
+        }
+
+        if (input.getType() != null && !input.getType().isEmpty()) {
+            conditions.add("#type = :type");
+            names.put("#type", "type");
+            values.put(":type", AttributeValue.builder().s(input.getType()).build());
+        }
+
+        if (!conditions.isEmpty()) {
+            builder.filterExpression(String.join(" AND ", conditions))
+                    .expressionAttributeNames(names)
+                    .expressionAttributeValues(values);
+        }
+
+        return builder;
+    }
+
+    /**
+     * Encodes a scan position as an opaque page token
+     */
+    private static String encodeToken(Map<String, AttributeValue> lastEvaluatedKey) {
+        Map<String, String> key = new HashMap<>();
+        lastEvaluatedKey.forEach((name, value) -> key.put(name, value.s()));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(GSON.toJson(key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a page token back into a scan position
+     */
+    private static Map<String, AttributeValue> decodeToken(String token) {
+        Map<String, String> key;
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            key = GSON.fromJson(json, TOKEN_TYPE);
+        } catch (IllegalArgumentException | JsonParseException e) {
+            throw new IllegalArgumentException("Invalid page token", e);
+        }
+
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Invalid page token");
+        }
+
+        Map<String, AttributeValue> startKey = new HashMap<>();
+        key.forEach((name, value) -> startKey.put(name, AttributeValue.builder().s(value).build()));
+        return startKey;
+    }
+}
@@ -0,0 +1,37 @@
+package com.soulcorehub.lambda.agent;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.soulcorehub.lambda.agent.context.ContextStore;
+import com.soulcorehub.lambda.agent.model.PutContextInput;
+import com.soulcorehub.lambda.agent.model.PutContextOutput;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lambda handler for PutContext operation
+ */
+public class PutContextHandler implements RequestHandler<PutContextInput, PutContextOutput> {
+    private static final Logger logger = LoggerFactory.getLogger(PutContextHandler.class);
+    private final ContextStore contextStore;
+
+    public PutContextHandler() {
+        this.contextStore = ContextStore.getInstance();
+    }
+
+    @Override
+    public PutContextOutput handleRequest(PutContextInput input, Context context) {
+        // Validate input
+        if (input.getContext() == null || input.getContext().isEmpty()) {
+            throw new IllegalArgumentException("Context cannot be null or empty");
+        }
+
+        logger.info("Processing PutContext request with {} characters", input.getContext().length());
+
+        // Create and return output
+        PutContextOutput output = new PutContextOutput();
+        output.setContextRef(contextStore.put(input.getContext()));
+        return output;
+    }
+}
@@ -0,0 +1,143 @@
+package com.soulcorehub.lambda.agent;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.soulcorehub.lambda.exception.AgentUnavailableException;
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+import com.soulcorehub.lambda.exception.ResourceNotFoundException;
+import com.soulcorehub.lambda.util.Deadline;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * HTTP server that streams InvokeAgent responses incrementally.
+ * The Java managed runtime cannot stream a function's response, so this server is run behind the
+ * Lambda Web Adapter instead: package the function with the adapter layer, start this class's main
+ * method from the function's startup script (or as a container image's command), and set
+ * AWS_LWA_INVOKE_MODE=response_stream with a function URL in RESPONSE_STREAM invoke mode. The
+ * adapter forwards each invocation as an HTTP request and streams the chunked response back to
+ * the caller as it is written.
+ *
+ * <p>POST /invoke-stream takes the same JSON body as {@link InvokeAgentStreamHandler} and returns
+ * the same newline-delimited events. Validation and lookup errors are returned as plain HTTP errors
+ * before streaming starts. GET / answers the adapter's readiness check. The server listens on
+ * AWS_LWA_PORT, or PORT, or 8080, and takes its deadline from the invocation context the adapter
+ * forwards in the x-amzn-lambda-context header.
+ */
+public final class StreamingServer {
+    private static final Logger logger = LoggerFactory.getLogger(StreamingServer.class);
+    private static final Gson GSON = new Gson();
+    private static final int PORT = EnvironmentConfig.getInt("AWS_LWA_PORT", EnvironmentConfig.getInt("PORT", 8080));
+
+    private StreamingServer() {
+    }
+
+    /**
+     * Starts the server
+     *
+     * @param args Ignored
+     * @throws IOException If the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        InvokeAgentStreamHandler handler = new InvokeAgentStreamHandler();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(PORT), 0);
+        server.createContext("/invoke-stream", exchange -> {
+            try {
+                handleInvoke(handler, exchange);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.createContext("/", exchange -> {
+            try {
+                exchange.sendResponseHeaders(200, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        logger.info("Streaming server listening on port {}", PORT);
+    }
+
+    private static void handleInvoke(InvokeAgentStreamHandler handler, HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+
+        InvokeAgentStreamHandler.Invocation invocation;
+        try (InputStream body = exchange.getRequestBody()) {
+            invocation = handler.prepare(InvokeAgentStreamHandler.parse(body), deadline(exchange));
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        } catch (ResourceNotFoundException e) {
+            sendError(exchange, 404, e.getMessage());
+            return;
+        } catch (AgentUnavailableException e) {
+            sendError(exchange, 503, e.getMessage());
+            return;
+        } catch (DeadlineExceededException e) {
+            sendError(exchange, 504, e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            logger.error("Failed to prepare streaming invocation", e);
+            sendError(exchange, 500, "Failed to invoke agent");
+            return;
+        }
+
+        // A zero length selects chunked encoding, so each flushed event is sent as it is written
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            invocation.streamTo(body);
+        }
+    }
+
+    /**
+     * Reads the invocation deadline the Lambda Web Adapter forwards, or no deadline when run locally
+     */
+    private static Deadline deadline(HttpExchange exchange) {
+        String lambdaContext = exchange.getRequestHeaders().getFirst("x-amzn-lambda-context");
+        if (lambdaContext == null) {
+            return Deadline.none();
+        }
+
+        try {
+            JsonObject context = GSON.fromJson(lambdaContext, JsonObject.class);
+            if (context != null && context.has("deadline")) {
+                return Deadline.fromEpochMillis(context.get("deadline").getAsLong());
+            }
+        } catch (JsonParseException | ClassCastException | IllegalStateException | NumberFormatException e) {
+            logger.warn("Ignoring unreadable Lambda context header", e);
+        }
+        return Deadline.none();
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("message", message);
+        byte[] body = GSON.toJson(error).getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.soulcorehub.lambda.agent.cache;
+
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.LruTtlCache;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Process-wide cache of agent items read from the agents table.
+ * The cache lives for the life of the warm container and is shared by all agent handlers.
+ * Whole items are cached under the agent ID, and projected items under the agent ID followed by
+ * {@link #PROJECTION_SEPARATOR} and the projected fields.
+ */
+public class AgentCache {
+    /**
+     * Separates the agent ID from the projected fields in the key of a projected item
+     */
+    public static final char PROJECTION_SEPARATOR = '\u0000';
+
+    private static final int MAX_ENTRIES = EnvironmentConfig.getInt("AGENT_CACHE_MAX_ENTRIES", 1000);
+    private static final long TTL_SECONDS = EnvironmentConfig.getLong("AGENT_CACHE_TTL_SECONDS", 300);
+    private static final long REFRESH_AHEAD_SECONDS = EnvironmentConfig.getLong("AGENT_CACHE_REFRESH_AHEAD_SECONDS", 240);
+
+    private final LruTtlCache<String, Map<String, AttributeValue>> cache;
+
+    /**
+     * Creates a new agent cache
+     *
+     * @param maxEntries          Maximum number of cached agents
+     * @param ttlSeconds          Seconds an agent stays cached after it was read
+     * @param refreshAheadSeconds Seconds after which a hot agent is re-read in the background, or zero to disable
+     */
+    public AgentCache(int maxEntries, long ttlSeconds, long refreshAheadSeconds) {
+        ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "agent-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = new LruTtlCache<>(maxEntries, ttlSeconds, refreshAheadSeconds, TimeUnit.SECONDS, refreshExecutor);
+    }
+
+    /**
+     * Gets the shared agent cache
+     *
+     * @return The agent cache
+     */
+    public static AgentCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets a cached agent item
+     *
+     * @param agentId The ID of the agent
+     * @return The agent item, or null if the agent is not cached
+     */
+    public Map<String, AttributeValue> get(String agentId) {
+        return cache.get(agentId);
+    }
+
+    /**
+     * Stores an agent item
+     *
+     * @param agentId   The ID of the agent
+     * @param item      The agent item
+     * @param refresher Reads the agent item again ahead of expiry, or null to disable refresh-ahead
+     */
+    public void put(String agentId, Map<String, AttributeValue> item,
+                    Function<String, Map<String, AttributeValue>> refresher) {
+        cache.put(agentId, item, refresher);
+    }
+
+    /**
+     * Stores an agent item without refresh-ahead
+     *
+     * @param agentId The ID of the agent
+     * @param item    The agent item
+     */
+    public void put(String agentId, Map<String, AttributeValue> item) {
+        cache.put(agentId, item);
+    }
+
+    /**
+     * Removes an agent from the cache, including every projection of it
+     *
+     * @param agentId The ID of the agent
+     */
+    public void invalidate(String agentId) {
+        String projectedPrefix = agentId + PROJECTION_SEPARATOR;
+        cache.invalidateIf(key -> key.equals(agentId) || key.startsWith(projectedPrefix));
+    }
+
+    /**
+     * Gets the number of cache hits
+     *
+     * @return The hit count
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * Gets the number of cache misses
+     *
+     * @return The miss count
+     */
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    /**
+     * Gets the number of agents evicted to stay within the size bound
+     *
+     * @return The eviction count
+     */
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    /**
+     * Gets the number of background refreshes started
+     *
+     * @return The refresh count
+     */
+    public long getRefreshCount() {
+        return cache.getRefreshCount();
+    }
+
+    private static final class Holder {
+        static final AgentCache INSTANCE = new AgentCache(MAX_ENTRIES, TTL_SECONDS, REFRESH_AHEAD_SECONDS);
+    }
+}
@@ -0,0 +1,102 @@
+package com.soulcorehub.lambda.agent.cache;
+
+/**
+ * Fixed-size Bloom filter over strings.
+ * Hashing works directly on the characters of the string, so membership checks do not allocate.
+ */
+public class BloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates a Bloom filter sized for the expected number of insertions
+     *
+     * @param expectedInsertions    Expected number of distinct values
+     * @param falsePositiveRate     Target false positive rate, between 0 and 1 exclusive
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        m = Math.max(64, m);
+
+        this.bits = new long[(int) ((m + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * LN2));
+    }
+
+    /**
+     * Adds a value to the filter
+     *
+     * @param value The value to add
+     */
+    public void put(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            setBit(index);
+        }
+    }
+
+    /**
+     * Checks whether a value might have been added
+     *
+     * @param value The value to check
+     * @return False if the value was definitely never added
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+        long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of hash functions used per value
+     *
+     * @return The hash count
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Gets the size of the filter in bits
+     *
+     * @return The bit count
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    private synchronized void setBit(long index) {
+        bits[(int) (index >>> 6)] |= 1L << index;
+    }
+
+    /**
+     * 64-bit mix over the UTF-16 code units of the value
+     */
+    private static long hash(String value, long seed) {
+        long h = seed ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 29;
+        }
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,90 @@
+package com.soulcorehub.lambda.agent.cache;
+
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.SingleFlight;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide registry of in-flight agent invocations.
+ * Concurrent invocations with the same {@link InvocationFingerprint} share one agent service call.
+ * The shared call outlives any one caller: it is cancelled only once every caller has cancelled
+ * or stopped waiting, so it must not be bounded by the deadline of the caller that started it.
+ *
+ * <p>Configuration is read from environment variables:
+ * <ul>
+ *   <li>AGENT_COALESCE_ENABLED: whether identical invocations are coalesced (default true)</li>
+ *   <li>AGENT_COALESCE_MAX_WAIT_MS: longest a coalesced invocation waits on the shared call
+ *       before making its own (default 5000)</li>
+ * </ul>
+ */
+public class InFlightInvocations {
+    private static final boolean ENABLED = EnvironmentConfig.getBoolean("AGENT_COALESCE_ENABLED", true);
+    private static final long MAX_WAIT_MS = EnvironmentConfig.getLong("AGENT_COALESCE_MAX_WAIT_MS", 5000);
+
+    private final boolean enabled;
+    private final SingleFlight<String, AgentInvocationResult> singleFlight;
+
+    /**
+     * Creates a new registry
+     *
+     * @param enabled   Whether identical invocations are coalesced
+     * @param maxWaitMs Longest a coalesced invocation waits on the shared call
+     */
+    public InFlightInvocations(boolean enabled, long maxWaitMs) {
+        this.enabled = enabled;
+        this.singleFlight = new SingleFlight<>(maxWaitMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the shared registry
+     *
+     * @return The registry
+     */
+    public static InFlightInvocations getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Checks whether identical invocations are coalesced
+     *
+     * @return True if invocations may share a call
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs an invocation, or joins an identical one already in flight
+     *
+     * @param fingerprint The invocation fingerprint
+     * @param invocation  Starts the agent service call
+     * @return A future completed with the invocation result
+     */
+    public CompletableFuture<AgentInvocationResult> invoke(
+            String fingerprint,
+            Supplier<? extends CompletionStage<AgentInvocationResult>> invocation
+    ) {
+        if (!enabled) {
+            return invocation.get().toCompletableFuture();
+        }
+        return singleFlight.execute(fingerprint, invocation);
+    }
+
+    /**
+     * Gets the number of invocations that joined an identical in-flight invocation
+     *
+     * @return The count
+     */
+    public long getCoalescedCount() {
+        return singleFlight.getFollowerCount();
+    }
+
+    private static final class Holder {
+        static final InFlightInvocations INSTANCE = new InFlightInvocations(ENABLED, MAX_WAIT_MS);
+    }
+}
@@ -0,0 +1,84 @@
+package com.soulcorehub.lambda.agent.cache;
+
+import com.soulcorehub.lambda.agent.service.AgentRequest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stable SHA-256 fingerprint of an agent invocation.
+ * Every input that can change the response is hashed: the agent ID, the agent's configuration
+ * version and all request fields. Fields are length-prefixed and parameters are hashed in key
+ * order, so distinct requests cannot collide by concatenation and equal requests always match.
+ */
+public final class InvocationFingerprint {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private InvocationFingerprint() {
+    }
+
+    /**
+     * Computes the fingerprint of a request
+     *
+     * @param request       The agent request
+     * @param configVersion The version of the agent's configuration, or null if unknown
+     * @return The fingerprint as a lowercase hex string
+     */
+    public static String of(AgentRequest request, String configVersion) {
+        MessageDigest digest = DIGEST.get();
+        digest.reset();
+
+        update(digest, request.getAgentId());
+        update(digest, configVersion);
+        update(digest, request.getPrompt());
+        update(digest, request.getContext());
+        update(digest, request.getMaxTokens() != null ? request.getMaxTokens().toString() : null);
+        update(digest, request.getTemperature() != null ? request.getTemperature().toString() : null);
+
+        Map<String, String> parameters = request.getParameters();
+        if (parameters == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update((byte) 1);
+            digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(parameters.size()).array());
+            for (Map.Entry<String, String> parameter : new TreeMap<>(parameters).entrySet()) {
+                update(digest, parameter.getKey());
+                update(digest, parameter.getValue());
+            }
+        }
+
+        return toHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars);
+    }
+}
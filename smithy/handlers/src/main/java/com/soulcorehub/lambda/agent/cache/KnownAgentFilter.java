@@ -0,0 +1,187 @@
+package com.soulcorehub.lambda.agent.cache;
+
+import com.soulcorehub.lambda.util.DynamoDbClient;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optional Bloom filter of the agent IDs present in the agents table, rebuilt in the background
+ * every AGENT_BLOOM_FILTER_REBUILD_SECONDS (default 300).
+ * Until the first rebuild completes, or while disabled, every agent ID is reported as possibly known.
+ *
+ * <p>Agents created after the latest rebuild are missing from the filter until the next rebuild,
+ * so a filter miss is not proof that an agent does not exist. {@link #admit} lets lookups for IDs
+ * the filter does not know through to the table at up to AGENT_BLOOM_FILTER_MISS_READS_PER_SECOND
+ * (default 10), so new agents are found and added as soon as they are read, while a flood of
+ * unknown IDs is still rejected without reading the table.
+ */
+public class KnownAgentFilter {
+    private static final Logger logger = LoggerFactory.getLogger(KnownAgentFilter.class);
+    private static final String TABLE_NAME = System.getenv("AGENTS_TABLE_NAME");
+    private static final boolean ENABLED = EnvironmentConfig.getBoolean("AGENT_BLOOM_FILTER_ENABLED", false);
+    private static final double FALSE_POSITIVE_RATE = EnvironmentConfig.getDouble("AGENT_BLOOM_FILTER_FPP", 0.01);
+    private static final long REBUILD_SECONDS = EnvironmentConfig.getLong("AGENT_BLOOM_FILTER_REBUILD_SECONDS", 300);
+    private static final double MISS_READS_PER_SECOND = EnvironmentConfig.getDouble("AGENT_BLOOM_FILTER_MISS_READS_PER_SECOND", 10.0);
+
+    // Headroom so agents created between rebuilds do not push the filter past its target rate
+    private static final double GROWTH_FACTOR = 1.25;
+
+    private final DynamoDbClient dynamoDbClient;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final double missReadsPerSecond;
+    private volatile BloomFilter filter;
+
+    // Reads allowed for IDs missing from the filter, refilled at missReadsPerSecond up to one second's worth (at least one)
+    private double missReads;
+    private long missReadsRefilledNanos = System.nanoTime();
+
+    /**
+     * Creates a new known agent filter
+     *
+     * @param dynamoDbClient    The DynamoDB client used to scan the agents table
+     * @param enabled           Whether the filter is used to reject lookups
+     * @param falsePositiveRate Target false positive rate of the filter
+     */
+    public KnownAgentFilter(DynamoDbClient dynamoDbClient, boolean enabled, double falsePositiveRate) {
+        this(dynamoDbClient, enabled, falsePositiveRate, MISS_READS_PER_SECOND);
+    }
+
+    /**
+     * Creates a new known agent filter
+     *
+     * @param dynamoDbClient     The DynamoDB client used to scan the agents table
+     * @param enabled            Whether the filter is used to reject lookups
+     * @param falsePositiveRate  Target false positive rate of the filter
+     * @param missReadsPerSecond Table reads per second allowed for IDs missing from the filter
+     */
+    public KnownAgentFilter(DynamoDbClient dynamoDbClient, boolean enabled, double falsePositiveRate,
+                            double missReadsPerSecond) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.missReadsPerSecond = missReadsPerSecond;
+        this.missReads = missReadsPerSecond;
+    }
+
+    /**
+     * Gets the shared known agent filter. When enabled, it is rebuilt on a fixed delay starting at the first call
+     *
+     * @return The known agent filter
+     */
+    public static KnownAgentFilter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Checks whether an agent ID might exist
+     *
+     * @param agentId The ID of the agent
+     * @return False only if the agent is definitely not in the table as of the latest rebuild
+     */
+    public boolean mightExist(String agentId) {
+        BloomFilter current = filter;
+        return !enabled || current == null || current.mightContain(agentId);
+    }
+
+    /**
+     * Checks whether the table should be read for an agent ID. IDs the filter might contain are
+     * always admitted; other IDs are admitted while the miss read rate allows, since they may
+     * belong to agents created after the latest rebuild.
+     *
+     * @param agentId The ID of the agent
+     * @return False if the lookup should be rejected without reading the table
+     */
+    public boolean admit(String agentId) {
+        return mightExist(agentId) || tryAcquireMissRead();
+    }
+
+    /**
+     * Adds an agent ID that is known to exist
+     *
+     * @param agentId The ID of the agent
+     */
+    public void add(String agentId) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(agentId);
+        }
+    }
+
+    /**
+     * Rebuilds the filter from a full scan of agent IDs in the agents table
+     */
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        List<String> agentIds = new ArrayList<>();
+
+        ScanRequest request = ScanRequest.builder()
+                .tableName(TABLE_NAME)
+                .projectionExpression("agentId")
+                .build();
+
+        for (ScanResponse page : dynamoDbClient.getClient().scanPaginator(request)) {
+            for (Map<String, AttributeValue> item : page.items()) {
+                agentIds.add(item.get("agentId").s());
+            }
+        }
+
+        BloomFilter rebuilt = new BloomFilter((long) (agentIds.size() * GROWTH_FACTOR), falsePositiveRate);
+        for (String agentId : agentIds) {
+            rebuilt.put(agentId);
+        }
+        filter = rebuilt;
+
+        logger.info("Rebuilt agent Bloom filter with {} agents in {} ms",
+                agentIds.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private synchronized boolean tryAcquireMissRead() {
+        long now = System.nanoTime();
+        missReads = Math.min(Math.max(1.0, missReadsPerSecond), missReads + (now - missReadsRefilledNanos) / 1e9 * missReadsPerSecond);
+        missReadsRefilledNanos = now;
+        if (missReads < 1.0) {
+            return false;
+        }
+        missReads -= 1.0;
+        return true;
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Keep the previous filter; lookups fall back to DynamoDB if none was ever built
+            logger.warn("Failed to rebuild agent Bloom filter", e);
+        }
+    }
+
+    private static final class Holder {
+        static final KnownAgentFilter INSTANCE =
+                new KnownAgentFilter(DynamoDbClient.getInstance(), ENABLED, FALSE_POSITIVE_RATE, MISS_READS_PER_SECOND);
+
+        static {
+            if (ENABLED) {
+                ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "agent-bloom-rebuild");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                scheduler.scheduleWithFixedDelay(INSTANCE::rebuildQuietly, 0, REBUILD_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
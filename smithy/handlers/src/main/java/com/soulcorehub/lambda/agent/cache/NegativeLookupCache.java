@@ -0,0 +1,77 @@
+package com.soulcorehub.lambda.agent.cache;
+
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.LruTtlCache;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived cache of agent IDs that were recently looked up and not found.
+ * Repeated requests for unknown agents are rejected without reading the agents table.
+ */
+public class NegativeLookupCache {
+    private static final int MAX_ENTRIES = EnvironmentConfig.getInt("AGENT_NEGATIVE_CACHE_MAX_ENTRIES", 10000);
+    private static final long TTL_SECONDS = EnvironmentConfig.getLong("AGENT_NEGATIVE_CACHE_TTL_SECONDS", 30);
+
+    private final LruTtlCache<String, Boolean> cache;
+
+    /**
+     * Creates a new negative lookup cache
+     *
+     * @param maxEntries Maximum number of unknown agent IDs to remember
+     * @param ttlSeconds Seconds an agent ID is remembered as unknown
+     */
+    public NegativeLookupCache(int maxEntries, long ttlSeconds) {
+        this.cache = new LruTtlCache<>(maxEntries, ttlSeconds, 0, TimeUnit.SECONDS, Runnable::run);
+    }
+
+    /**
+     * Gets the shared negative lookup cache
+     *
+     * @return The negative lookup cache
+     */
+    public static NegativeLookupCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Checks whether an agent ID was recently found not to exist
+     *
+     * @param agentId The ID of the agent
+     * @return True if the agent is known not to exist
+     */
+    public boolean isKnownMissing(String agentId) {
+        return cache.get(agentId) != null;
+    }
+
+    /**
+     * Records that an agent ID does not exist
+     *
+     * @param agentId The ID of the agent
+     */
+    public void markMissing(String agentId) {
+        cache.put(agentId, Boolean.TRUE);
+    }
+
+    /**
+     * Forgets a missing agent ID, for example after the agent was created
+     *
+     * @param agentId The ID of the agent
+     */
+    public void invalidate(String agentId) {
+        cache.invalidate(agentId);
+    }
+
+    /**
+     * Gets the number of lookups rejected by the cache
+     *
+     * @return The hit count
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    private static final class Holder {
+        static final NegativeLookupCache INSTANCE = new NegativeLookupCache(MAX_ENTRIES, TTL_SECONDS);
+    }
+}
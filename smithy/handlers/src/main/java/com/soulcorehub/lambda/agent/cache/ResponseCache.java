@@ -0,0 +1,139 @@
+package com.soulcorehub.lambda.agent.cache;
+
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+import com.soulcorehub.lambda.agent.service.AgentRequest;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.LruTtlCache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide cache of agent responses for deterministic invocations.
+ * Only requests with a temperature of exactly zero are cached, since any other setting may
+ * legitimately produce a different response each time. Entries are keyed by
+ * {@link InvocationFingerprint} and bounded by both count and estimated size in bytes.
+ *
+ * <p>Configuration is read from environment variables:
+ * <ul>
+ *   <li>AGENT_RESPONSE_CACHE_ENABLED: whether responses are cached (default true)</li>
+ *   <li>AGENT_RESPONSE_CACHE_MAX_ENTRIES: maximum cached responses (default 10000)</li>
+ *   <li>AGENT_RESPONSE_CACHE_MAX_BYTES: maximum estimated size of cached responses (default 2% of
+ *       the function's memory, about 2.5 MB at 128 MB)</li>
+ *   <li>AGENT_RESPONSE_CACHE_TTL_SECONDS: seconds a response stays cached (default 600)</li>
+ * </ul>
+ */
+public class ResponseCache {
+    /**
+     * Metadata key set to "true" on responses served from the cache
+     */
+    public static final String CACHE_HIT_METADATA = "cache_hit";
+
+    private static final boolean ENABLED = EnvironmentConfig.getBoolean("AGENT_RESPONSE_CACHE_ENABLED", true);
+    private static final int MAX_ENTRIES = EnvironmentConfig.getInt("AGENT_RESPONSE_CACHE_MAX_ENTRIES", 10000);
+    private static final long MAX_BYTES = EnvironmentConfig.getLong("AGENT_RESPONSE_CACHE_MAX_BYTES", EnvironmentConfig.getMemoryShare(2));
+    private static final long TTL_SECONDS = EnvironmentConfig.getLong("AGENT_RESPONSE_CACHE_TTL_SECONDS", 600);
+
+    // Rough per-entry cost of the key, entry, result and map nodes
+    private static final long ENTRY_OVERHEAD_BYTES = 256;
+
+    private final boolean enabled;
+    private final LruTtlCache<String, AgentInvocationResult> cache;
+
+    /**
+     * Creates a new response cache
+     *
+     * @param enabled    Whether responses are cached
+     * @param maxEntries Maximum number of cached responses
+     * @param maxBytes   Maximum estimated size of the cached responses in bytes
+     * @param ttlSeconds Seconds a response stays cached
+     */
+    public ResponseCache(boolean enabled, int maxEntries, long maxBytes, long ttlSeconds) {
+        this.enabled = enabled;
+        this.cache = new LruTtlCache<>(maxEntries, maxBytes, ResponseCache::estimateBytes,
+                ttlSeconds, 0L, TimeUnit.SECONDS, Runnable::run);
+    }
+
+    /**
+     * Gets the shared response cache
+     *
+     * @return The response cache
+     */
+    public static ResponseCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Checks whether a request is deterministic enough to cache
+     *
+     * @param request The agent request
+     * @return True if the response to the request may be cached
+     */
+    public boolean isCacheable(AgentRequest request) {
+        return enabled && request.getTemperature() != null && request.getTemperature() == 0f;
+    }
+
+    /**
+     * Gets a cached response
+     *
+     * @param fingerprint The invocation fingerprint
+     * @return The cached response, already marked as a cache hit, or null if not cached
+     */
+    public AgentInvocationResult get(String fingerprint) {
+        return cache.get(fingerprint);
+    }
+
+    /**
+     * Caches a response
+     *
+     * @param fingerprint The invocation fingerprint
+     * @param result      The response returned by the agent service
+     */
+    public void put(String fingerprint, AgentInvocationResult result) {
+        // Store the hit variant so serving a hit allocates nothing
+        Map<String, String> metadata = new HashMap<>(result.getMetadata());
+        metadata.put(CACHE_HIT_METADATA, "true");
+
+        cache.put(fingerprint, new AgentInvocationResult(
+                result.getResponse(),
+                result.getPromptTokens(),
+                result.getCompletionTokens(),
+                result.getTotalTokens(),
+                metadata
+        ));
+    }
+
+    /**
+     * Gets the number of lookups served from the cache
+     *
+     * @return The count
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * Gets the number of lookups not served from the cache
+     *
+     * @return The count
+     */
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    private static long estimateBytes(AgentInvocationResult result) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        if (result.getResponse() != null) {
+            bytes += 2L * result.getResponse().length();
+        }
+        for (Map.Entry<String, String> entry : result.getMetadata().entrySet()) {
+            bytes += 64 + 2L * entry.getKey().length() + (entry.getValue() != null ? 2L * entry.getValue().length() : 0);
+        }
+        return bytes;
+    }
+
+    private static final class Holder {
+        static final ResponseCache INSTANCE = new ResponseCache(ENABLED, MAX_ENTRIES, MAX_BYTES, TTL_SECONDS);
+    }
+}
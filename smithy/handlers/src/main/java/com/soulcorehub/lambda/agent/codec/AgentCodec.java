@@ -0,0 +1,177 @@
+package com.soulcorehub.lambda.agent.codec;
+
+import com.soulcorehub.api.Agent;
+import com.soulcorehub.api.AgentStatus;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts agents to and from DynamoDB items.
+ * Each attribute is read with a single map lookup and collections are sized up front,
+ * so decoding does no stream, collector or reflection work. Attributes missing from the
+ * item, for example because of a projection, are left unset instead of failing.
+ */
+public final class AgentCodec {
+    private static final int ITEM_ATTRIBUTES = 10;
+
+    private AgentCodec() {
+    }
+
+    /**
+     * Decodes a DynamoDB item to an Agent
+     *
+     * @param item The agent item
+     * @return The agent
+     */
+    public static Agent decode(Map<String, AttributeValue> item) {
+        Agent agent = new Agent();
+        AttributeValue value;
+
+        value = item.get("agentId");
+        if (value != null) {
+            agent.setAgentId(value.s());
+        }
+
+        value = item.get("name");
+        if (value != null) {
+            agent.setName(value.s());
+        }
+
+        value = item.get("type");
+        if (value != null) {
+            agent.setType(value.s());
+        }
+
+        value = item.get("description");
+        if (value != null) {
+            agent.setDescription(value.s());
+        }
+
+        value = item.get("configuration");
+        if (value != null) {
+            agent.setConfiguration(value.s());
+        }
+
+        value = item.get("capabilities");
+        if (value != null) {
+            agent.setCapabilities(decodeStringList(value.l()));
+        }
+
+        value = item.get("status");
+        if (value != null) {
+            agent.setStatus(AgentStatus.valueOf(value.s()));
+        }
+
+        value = item.get("createdAt");
+        if (value != null) {
+            agent.setCreatedAt(value.s());
+        }
+
+        value = item.get("updatedAt");
+        if (value != null) {
+            agent.setUpdatedAt(value.s());
+        }
+
+        value = item.get("tags");
+        if (value != null) {
+            agent.setTags(decodeStringMap(value.m()));
+        }
+
+        return agent;
+    }
+
+    /**
+     * Encodes an Agent to a DynamoDB item. Unset attributes are omitted.
+     *
+     * @param agent The agent
+     * @return The agent item
+     */
+    public static Map<String, AttributeValue> encode(Agent agent) {
+        Map<String, AttributeValue> item = new HashMap<>(ITEM_ATTRIBUTES * 4 / 3 + 1);
+
+        if (agent.getAgentId() != null) {
+            item.put("agentId", string(agent.getAgentId()));
+        }
+
+        if (agent.getName() != null) {
+            item.put("name", string(agent.getName()));
+        }
+
+        if (agent.getType() != null) {
+            item.put("type", string(agent.getType()));
+        }
+
+        if (agent.getDescription() != null) {
+            item.put("description", string(agent.getDescription()));
+        }
+
+        if (agent.getConfiguration() != null) {
+            item.put("configuration", string(agent.getConfiguration()));
+        }
+
+        if (agent.getCapabilities() != null) {
+            item.put("capabilities", AttributeValue.builder().l(encodeStringList(agent.getCapabilities())).build());
+        }
+
+        if (agent.getStatus() != null) {
+            item.put("status", string(agent.getStatus().name()));
+        }
+
+        if (agent.getCreatedAt() != null) {
+            item.put("createdAt", string(agent.getCreatedAt()));
+        }
+
+        if (agent.getUpdatedAt() != null) {
+            item.put("updatedAt", string(agent.getUpdatedAt()));
+        }
+
+        if (agent.getTags() != null) {
+            item.put("tags", AttributeValue.builder().m(encodeStringMap(agent.getTags())).build());
+        }
+
+        return item;
+    }
+
+    private static List<String> decodeStringList(List<AttributeValue> values) {
+        int size = values.size();
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(values.get(i).s());
+        }
+        return list;
+    }
+
+    private static Map<String, String> decodeStringMap(Map<String, AttributeValue> values) {
+        Map<String, String> map = new HashMap<>(values.size() * 4 / 3 + 1);
+        for (Map.Entry<String, AttributeValue> entry : values.entrySet()) {
+            map.put(entry.getKey(), entry.getValue().s());
+        }
+        return map;
+    }
+
+    private static List<AttributeValue> encodeStringList(List<String> values) {
+        int size = values.size();
+        List<AttributeValue> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(string(values.get(i)));
+        }
+        return list;
+    }
+
+    private static Map<String, AttributeValue> encodeStringMap(Map<String, String> values) {
+        Map<String, AttributeValue> map = new HashMap<>(values.size() * 4 / 3 + 1);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            map.put(entry.getKey(), string(entry.getValue()));
+        }
+        return map;
+    }
+
+    private static AttributeValue string(String value) {
+        return AttributeValue.builder().s(value).build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.soulcorehub.lambda.agent.context;
+
+import com.soulcorehub.lambda.exception.ResourceNotFoundException;
+import com.soulcorehub.lambda.util.DynamoDbClient;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.LruTtlCache;
+
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Content-addressed store for agent contexts.
+ * A context is stored once under the SHA-256 hash of its UTF-8 bytes, so callers can send the
+ * short reference on every turn instead of the full text. Contexts are kept in the contexts
+ * table and cached in memory; since a reference always names the same content, cached contexts
+ * never go stale.
+ *
+ * <p>Configuration is read from environment variables:
+ * <ul>
+ *   <li>CONTEXTS_TABLE_NAME: the DynamoDB table holding contexts, keyed by contextRef</li>
+ *   <li>CONTEXT_STORE_MAX_BYTES: largest context accepted, in UTF-8 bytes (default 350000)</li>
+ *   <li>CONTEXT_STORE_RETENTION_DAYS: days a context is kept after its last upload, via the
+ *       table's expiresAt TTL attribute (default 7)</li>
+ *   <li>CONTEXT_CACHE_MAX_ENTRIES: maximum cached contexts (default 1000)</li>
+ *   <li>CONTEXT_CACHE_MAX_BYTES: maximum estimated size of cached contexts (default 4% of the
+ *       function's memory, about 5 MB at 128 MB)</li>
+ *   <li>CONTEXT_CACHE_TTL_SECONDS: seconds a context stays cached (default 3600)</li>
+ * </ul>
+ */
+public class ContextStore {
+    private static final Logger logger = LoggerFactory.getLogger(ContextStore.class);
+    private static final String TABLE_NAME = System.getenv("CONTEXTS_TABLE_NAME");
+    private static final int MAX_CONTEXT_BYTES = EnvironmentConfig.getInt("CONTEXT_STORE_MAX_BYTES", 350000);
+    private static final long RETENTION_DAYS = EnvironmentConfig.getLong("CONTEXT_STORE_RETENTION_DAYS", 7);
+    private static final int CACHE_MAX_ENTRIES = EnvironmentConfig.getInt("CONTEXT_CACHE_MAX_ENTRIES", 1000);
+    private static final long CACHE_MAX_BYTES = EnvironmentConfig.getLong("CONTEXT_CACHE_MAX_BYTES", EnvironmentConfig.getMemoryShare(4));
+    private static final long CACHE_TTL_SECONDS = EnvironmentConfig.getLong("CONTEXT_CACHE_TTL_SECONDS", 3600);
+
+    private static final String REF_PREFIX = "sha256:";
+    private static final Pattern REF_PATTERN = Pattern.compile("sha256:[0-9a-f]{64}");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final DynamoDbClient dynamoDbClient;
+    private final LruTtlCache<String, String> cache;
+
+    /**
+     * Creates a new context store
+     *
+     * @param dynamoDbClient The DynamoDB client
+     */
+    public ContextStore(DynamoDbClient dynamoDbClient) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.cache = new LruTtlCache<>(CACHE_MAX_ENTRIES, CACHE_MAX_BYTES, context -> 64L + 2L * context.length(),
+                CACHE_TTL_SECONDS, 0L, TimeUnit.SECONDS, Runnable::run);
+    }
+
+    /**
+     * Gets the shared context store
+     *
+     * @return The context store
+     */
+    public static ContextStore getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Stores a context. Uploading the same context again returns the same reference
+     * and extends its retention.
+     *
+     * @param context The context text
+     * @return The context reference
+     */
+    public String put(String context) {
+        byte[] bytes = context.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_CONTEXT_BYTES) {
+            throw new IllegalArgumentException("Context cannot be larger than " + MAX_CONTEXT_BYTES + " bytes");
+        }
+
+        String contextRef = REF_PREFIX + sha256(bytes);
+
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("contextRef", AttributeValue.builder().s(contextRef).build());
+        item.put("context", AttributeValue.builder().s(context).build());
+        item.put("sizeBytes", AttributeValue.builder().n(Integer.toString(bytes.length)).build());
+        item.put("expiresAt", AttributeValue.builder()
+                .n(Long.toString(Instant.now().plus(RETENTION_DAYS, ChronoUnit.DAYS).getEpochSecond()))
+                .build());
+
+        dynamoDbClient.getClient().putItem(PutItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .item(item)
+                .build());
+
+        cache.put(contextRef, context);
+        logger.info("Stored context {} ({} bytes)", contextRef, bytes.length);
+        return contextRef;
+    }
+
+    /**
+     * Resolves a context reference, serving it from memory when possible
+     *
+     * @param contextRef The context reference
+     * @return The context text, or null if no context is stored under the reference
+     */
+    public String get(String contextRef) {
+        if (!isValidRef(contextRef)) {
+            throw new IllegalArgumentException("Invalid context reference: " + contextRef);
+        }
+
+        return cache.get(contextRef, this::loadContext);
+    }
+
+    /**
+     * Resolves the context of an invocation, which may be sent inline or by reference but not both
+     *
+     * @param context    The inline context, or null
+     * @param contextRef The context reference, or null
+     * @return The context text, or null if the invocation has no context
+     * @throws ResourceNotFoundException If no context is stored under the reference
+     */
+    public String resolve(String context, String contextRef) {
+        if (contextRef == null || contextRef.isEmpty()) {
+            return context;
+        }
+
+        if (context != null && !context.isEmpty()) {
+            throw new IllegalArgumentException("Context and contextRef cannot both be set");
+        }
+
+        String resolved = get(contextRef);
+        if (resolved == null) {
+            throw new ResourceNotFoundException("Context not found", "Context", contextRef, false);
+        }
+        return resolved;
+    }
+
+    /**
+     * Checks whether a string is a well-formed context reference
+     *
+     * @param contextRef The string to check
+     * @return True if the string is a context reference
+     */
+    public static boolean isValidRef(String contextRef) {
+        return contextRef != null && REF_PATTERN.matcher(contextRef).matches();
+    }
+
+    /**
+     * Reads a context from the contexts table. The read is strongly consistent so a context
+     * can be referenced immediately after it is uploaded.
+     */
+    private String loadContext(String contextRef) {
+        GetItemResponse response = dynamoDbClient.getClient().getItem(GetItemRequest.builder()
+                .tableName(TABLE_NAME)
+                .key(Collections.singletonMap("contextRef", AttributeValue.builder().s(contextRef).build()))
+                .projectionExpression("#context")
+                .expressionAttributeNames(Collections.singletonMap("#context", "context"))
+                .consistentRead(true)
+                .build());
+
+        if (!response.hasItem() || response.item().isEmpty()) {
+            return null;
+        }
+
+        AttributeValue context = response.item().get("context");
+        return context != null ? context.s() : null;
+    }
+
+    private static String sha256(byte[] bytes) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        char[] chars = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(chars);
+    }
+
+    private static final class Holder {
+        static final ContextStore INSTANCE = new ContextStore(DynamoDbClient.getInstance());
+    }
+}
@@ -0,0 +1,93 @@
+package com.soulcorehub.lambda.agent.emotion;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keywords for each emotion, in priority order.
+ * When two emotions score the same, the one listed first is dominant.
+ */
+public final class EmotionLexicon {
+    private static final Type LEXICON_TYPE = new TypeToken<LinkedHashMap<String, List<String>>>() { }.getType();
+
+    private final Map<String, List<String>> keywords;
+
+    /**
+     * Creates a new EmotionLexicon
+     *
+     * @param keywords Keywords by emotion, iterated in priority order
+     */
+    public EmotionLexicon(Map<String, List<String>> keywords) {
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        keywords.forEach((emotion, words) -> {
+            if (emotion == null || emotion.isEmpty()) {
+                throw new IllegalArgumentException("Emotion name cannot be null or empty");
+            }
+            List<String> nonEmpty = new ArrayList<>(words.size());
+            for (String word : words) {
+                if (word != null && !word.isEmpty()) {
+                    nonEmpty.add(word);
+                }
+            }
+            copy.put(emotion, Collections.unmodifiableList(nonEmpty));
+        });
+        this.keywords = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Gets the built-in lexicon
+     *
+     * @return The default lexicon
+     */
+    public static EmotionLexicon defaults() {
+        Map<String, List<String>> keywords = new LinkedHashMap<>();
+        keywords.put("joy", Arrays.asList("happy", "joy", "excited"));
+        keywords.put("sadness", Arrays.asList("sad", "unhappy", "disappointed"));
+        keywords.put("anger", Arrays.asList("angry", "frustrated", "annoyed"));
+        keywords.put("fear", Arrays.asList("afraid", "scared", "worried"));
+        keywords.put("surprise", Arrays.asList("surprised", "amazed", "astonished"));
+        return new EmotionLexicon(keywords);
+    }
+
+    /**
+     * Loads a lexicon from a JSON object mapping each emotion to an array of keywords
+     *
+     * @param path The lexicon file
+     * @return The lexicon
+     * @throws IOException If the file cannot be read or is not a valid lexicon
+     */
+    public static EmotionLexicon load(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Map<String, List<String>> keywords = new Gson().fromJson(reader, LEXICON_TYPE);
+            if (keywords == null || keywords.isEmpty()) {
+                throw new IOException("Emotion lexicon is empty: " + path);
+            }
+            return new EmotionLexicon(keywords);
+        } catch (JsonParseException e) {
+            throw new IOException("Invalid emotion lexicon: " + path, e);
+        }
+    }
+
+    /**
+     * Gets the keywords by emotion
+     *
+     * @return An unmodifiable map iterated in priority order
+     */
+    public Map<String, List<String>> getKeywords() {
+        return keywords;
+    }
+}
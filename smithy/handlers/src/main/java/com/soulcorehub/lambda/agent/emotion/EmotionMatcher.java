@@ -0,0 +1,196 @@
+package com.soulcorehub.lambda.agent.emotion;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scores text against an {@link EmotionLexicon} with an Aho-Corasick automaton.
+ * The automaton is compiled once into a dense transition table over the characters that occur in
+ * the lexicon, with failure links folded in, so scanning is one table lookup per character. Text
+ * is read in place and case-folded character by character, never copied or lowercased as a whole.
+ *
+ * <p>Keywords match at the start of a word: "joyful" counts as joy, but "unhappy" does not count
+ * as "happy".
+ *
+ * <p>The default matcher loads the JSON lexicon named by ANIMA_EMOTION_LEXICON_PATH, falling
+ * back to the built-in lexicon when it is unset or invalid.
+ */
+public final class EmotionMatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmotionMatcher.class);
+    private static final EmotionMatcher DEFAULT = new EmotionMatcher(loadLexicon(System.getenv("ANIMA_EMOTION_LEXICON_PATH")));
+
+    private final String[] emotions;
+    private final int[] keywordEmotions;
+    private final int[] keywordLengths;
+    /** Character class of every char, case-folded; class 0 is any char not in the lexicon */
+    private final short[] charClasses;
+    private final int classCount;
+    /** transitions[state * classCount + class] is the next state */
+    private final int[] transitions;
+    /** Keywords ending at each state, including those reached through failure links */
+    private final int[][] outputs;
+
+    /**
+     * Compiles a matcher for a lexicon
+     *
+     * @param lexicon The emotions and their keywords
+     */
+    public EmotionMatcher(EmotionLexicon lexicon) {
+        Map<String, List<String>> keywords = lexicon.getKeywords();
+        this.emotions = keywords.keySet().toArray(new String[0]);
+
+        // Case-fold the keywords and assign a class to each distinct character
+        List<char[]> folded = new ArrayList<>();
+        List<Integer> emotionIndexes = new ArrayList<>();
+        Map<Character, Integer> classes = new HashMap<>();
+        for (int e = 0; e < emotions.length; e++) {
+            for (String keyword : keywords.get(emotions[e])) {
+                char[] chars = new char[keyword.length()];
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = Character.toLowerCase(keyword.charAt(i));
+                    classes.putIfAbsent(chars[i], classes.size() + 1);
+                }
+                folded.add(chars);
+                emotionIndexes.add(e);
+            }
+        }
+
+        this.classCount = classes.size() + 1;
+        this.charClasses = new short[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            Integer charClass = classes.get(Character.toLowerCase((char) c));
+            if (charClass != null) {
+                charClasses[c] = (short) (int) charClass;
+            }
+        }
+
+        this.keywordEmotions = new int[folded.size()];
+        this.keywordLengths = new int[folded.size()];
+
+        // Build the trie; -1 marks a missing edge until failure links fill it in
+        int maxStates = 1;
+        for (char[] chars : folded) {
+            maxStates += chars.length;
+        }
+        int[] delta = new int[maxStates * classCount];
+        Arrays.fill(delta, -1);
+        List<List<Integer>> stateOutputs = new ArrayList<>(maxStates);
+        stateOutputs.add(new ArrayList<>());
+        int states = 1;
+
+        for (int k = 0; k < folded.size(); k++) {
+            char[] chars = folded.get(k);
+            keywordEmotions[k] = emotionIndexes.get(k);
+            keywordLengths[k] = chars.length;
+
+            int state = 0;
+            for (char c : chars) {
+                int edge = state * classCount + charClasses[c];
+                if (delta[edge] < 0) {
+                    delta[edge] = states++;
+                    stateOutputs.add(new ArrayList<>());
+                }
+                state = delta[edge];
+            }
+            stateOutputs.get(state).add(k);
+        }
+
+        // Breadth-first, point each missing edge at the failure state's edge and inherit its outputs
+        int[] fail = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < classCount; c++) {
+            int next = delta[c];
+            if (next < 0) {
+                delta[c] = 0;
+            } else {
+                fail[next] = 0;
+                queue[tail++] = next;
+            }
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            stateOutputs.get(state).addAll(stateOutputs.get(fail[state]));
+            for (int c = 0; c < classCount; c++) {
+                int edge = state * classCount + c;
+                int failEdge = fail[state] * classCount + c;
+                if (delta[edge] < 0) {
+                    delta[edge] = delta[failEdge];
+                } else {
+                    fail[delta[edge]] = delta[failEdge];
+                    queue[tail++] = delta[edge];
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(delta, states * classCount);
+        this.outputs = new int[states][];
+        for (int s = 0; s < states; s++) {
+            List<Integer> matches = stateOutputs.get(s);
+            if (!matches.isEmpty()) {
+                outputs[s] = matches.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+    }
+
+    /**
+     * Gets the process-wide matcher
+     *
+     * @return The matcher for the configured lexicon
+     */
+    public static EmotionMatcher getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Scores text in a single case-insensitive pass
+     *
+     * @param text The text to score, may be null
+     * @return Match counts and scores for every emotion in the lexicon
+     */
+    public EmotionScores score(CharSequence text) {
+        int[] counts = new int[emotions.length];
+        if (text == null) {
+            return new EmotionScores(emotions, counts);
+        }
+
+        int state = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            state = transitions[state * classCount + charClasses[text.charAt(i)]];
+            int[] matches = outputs[state];
+            if (matches != null) {
+                for (int keyword : matches) {
+                    int start = i - keywordLengths[keyword] + 1;
+                    if (start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1))) {
+                        counts[keywordEmotions[keyword]]++;
+                    }
+                }
+            }
+        }
+        return new EmotionScores(emotions, counts);
+    }
+
+    private static EmotionLexicon loadLexicon(String path) {
+        if (path == null || path.isEmpty()) {
+            return EmotionLexicon.defaults();
+        }
+
+        try {
+            EmotionLexicon lexicon = EmotionLexicon.load(Paths.get(path));
+            logger.info("Loaded emotion lexicon with {} emotions from {}", lexicon.getKeywords().size(), path);
+            return lexicon;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to load emotion lexicon from {}, using the built-in lexicon", path, e);
+            return EmotionLexicon.defaults();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.soulcorehub.lambda.agent.emotion;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Keyword match counts for every emotion in a lexicon.
+ * A score is the emotion's share of all matches, so scores sum to 1 when anything matched.
+ */
+public final class EmotionScores {
+    private final String[] emotions;
+    private final int[] counts;
+    private final int total;
+
+    EmotionScores(String[] emotions, int[] counts) {
+        this.emotions = emotions;
+        this.counts = counts;
+        int sum = 0;
+        for (int count : counts) {
+            sum += count;
+        }
+        this.total = sum;
+    }
+
+    /**
+     * Gets the emotion with the most matches, preferring the earlier emotion on ties
+     *
+     * @param fallback The emotion to return when nothing matched
+     * @return The dominant emotion
+     */
+    public String dominant(String fallback) {
+        int best = -1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 && (best < 0 || counts[i] > counts[best])) {
+                best = i;
+            }
+        }
+        return best >= 0 ? emotions[best] : fallback;
+    }
+
+    /**
+     * Gets the score of an emotion
+     *
+     * @param emotion The emotion
+     * @return The emotion's share of all matches, or 0 if nothing matched or the emotion is unknown
+     */
+    public double getScore(String emotion) {
+        for (int i = 0; i < emotions.length; i++) {
+            if (emotions[i].equals(emotion)) {
+                return total == 0 ? 0 : (double) counts[i] / total;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the total number of keyword matches
+     *
+     * @return The number of matches across all emotions
+     */
+    public int getMatchCount() {
+        return total;
+    }
+
+    /**
+     * Passes every emotion and its score to an action, in lexicon order, without building a map
+     *
+     * @param action Receives each emotion and its score
+     */
+    public void forEach(ObjDoubleConsumer<String> action) {
+        for (int i = 0; i < emotions.length; i++) {
+            action.accept(emotions[i], total == 0 ? 0.0 : (double) counts[i] / total);
+        }
+    }
+
+    /**
+     * Gets the scores of every emotion
+     *
+     * @return An unmodifiable map of emotion to score, in lexicon order
+     */
+    public Map<String, Double> asMap() {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (int i = 0; i < emotions.length; i++) {
+            scores.put(emotions[i], total == 0 ? 0.0 : (double) counts[i] / total);
+        }
+        return Collections.unmodifiableMap(scores);
+    }
+}
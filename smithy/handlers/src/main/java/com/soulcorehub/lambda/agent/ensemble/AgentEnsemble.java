@@ -0,0 +1,208 @@
+package com.soulcorehub.lambda.agent.ensemble;
+
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends one request to several agents concurrently and merges their results.
+ * The merged result sums token usage over the successful agents and records in its metadata
+ * the policy, each agent's status and processing time, and each agent's own metadata
+ * prefixed with its agent ID.
+ *
+ * <p>Members still running once the result is decided or has failed, or when the caller cancels
+ * the ensemble, are cancelled, and members not yet started are skipped. Member futures from {@code AgentInvoker} pass the cancellation down to the
+ * backend call, unless another coalesced caller is still waiting for it. From Java 16 that aborts
+ * the HTTP request; on Java 11 the request runs on until its deadline-capped timeout, but no
+ * longer holds the member's result.
+ */
+public class AgentEnsemble {
+    private static final Logger logger = LoggerFactory.getLogger(AgentEnsemble.class);
+
+    /**
+     * Invokes every agent and merges the results according to the policy
+     *
+     * @param agentIds   The IDs of the agents to invoke
+     * @param invocation Starts the invocation of one agent; the future should pass cancellation on to the call
+     * @param policy     How results are merged
+     * @param quorum     The number of successful agents required by {@link EnsemblePolicy#QUORUM},
+     *                   between 1 and the number of agents
+     * @return A future completed with the merged result, or with the first agent error if the
+     *         policy cannot be satisfied
+     */
+    public CompletableFuture<AgentInvocationResult> invoke(
+            List<String> agentIds,
+            Function<String, CompletableFuture<AgentInvocationResult>> invocation,
+            EnsemblePolicy policy,
+            int quorum
+    ) {
+        int required = policy == EnsemblePolicy.QUORUM ? quorum : 1;
+        if (required <= 0 || required > agentIds.size()) {
+            throw new IllegalArgumentException("Quorum must be between 1 and " + agentIds.size());
+        }
+
+        Run run = new Run(agentIds, policy, required);
+        // Once the result is decided, failed or cancelled by the caller, no member's result is needed
+        run.merged.whenComplete((result, error) -> run.members.forEach(member -> member.cancel(false)));
+
+        for (int i = 0; i < agentIds.size(); i++) {
+            if (run.merged.isDone()) {
+                // Decided by members that completed at once, such as cached responses
+                break;
+            }
+
+            int index = i;
+            CompletableFuture<AgentInvocationResult> member;
+            try {
+                member = invocation.apply(agentIds.get(i));
+            } catch (RuntimeException e) {
+                member = CompletableFuture.failedFuture(e);
+            }
+            run.members.add(member);
+            if (run.merged.isDone()) {
+                // Decided while the member was being started, possibly after the members were cancelled
+                member.cancel(false);
+            }
+            member.whenComplete((result, error) -> run.onComplete(index, result, error));
+        }
+
+        return run.merged;
+    }
+
+    /**
+     * State of one ensemble invocation
+     */
+    private static final class Run {
+        private final List<String> agentIds;
+        private final EnsemblePolicy policy;
+        private final int required;
+        private final long startNanos = System.nanoTime();
+        // Appended by the caller while completing members iterate it to cancel the rest
+        private final List<CompletableFuture<AgentInvocationResult>> members = new CopyOnWriteArrayList<>();
+        private final AgentInvocationResult[] results;
+        private final Throwable[] errors;
+        private final long[] elapsedMs;
+        private final CompletableFuture<AgentInvocationResult> merged = new CompletableFuture<>();
+        private int succeeded;
+        private int completed;
+
+        private Run(List<String> agentIds, EnsemblePolicy policy, int required) {
+            this.agentIds = agentIds;
+            this.policy = policy;
+            this.required = required;
+            this.results = new AgentInvocationResult[agentIds.size()];
+            this.errors = new Throwable[agentIds.size()];
+            this.elapsedMs = new long[agentIds.size()];
+        }
+
+        private void onComplete(int index, AgentInvocationResult result, Throwable error) {
+            AgentInvocationResult outcome;
+            synchronized (this) {
+                if (merged.isDone()) {
+                    return;
+                }
+
+                elapsedMs[index] = (System.nanoTime() - startNanos) / 1_000_000L;
+                completed++;
+                if (error == null) {
+                    results[index] = result;
+                    succeeded++;
+                } else {
+                    errors[index] = unwrap(error);
+                    logger.warn("Ensemble member {} failed: {}", agentIds.get(index), errors[index].getMessage());
+                }
+
+                int total = agentIds.size();
+                boolean satisfied = policy == EnsemblePolicy.ALL
+                        ? completed == total && succeeded > 0
+                        : succeeded >= required;
+                boolean impossible = succeeded + (total - completed) < required;
+
+                if (satisfied) {
+                    outcome = merge();
+                } else if (impossible) {
+                    outcome = null;
+                } else {
+                    return;
+                }
+            }
+
+            if (outcome != null) {
+                merged.complete(outcome);
+            } else {
+                merged.completeExceptionally(firstError());
+            }
+        }
+
+        private AgentInvocationResult merge() {
+            StringBuilder response = new StringBuilder();
+            int promptTokens = 0;
+            int completionTokens = 0;
+            int totalTokens = 0;
+            Map<String, String> metadata = new HashMap<>();
+            metadata.put("ensemble_policy", policy.name());
+            metadata.put("ensemble_agents", String.join(",", agentIds));
+
+            AgentInvocationResult last = null;
+            int merged = 0;
+            for (int i = 0; i < agentIds.size(); i++) {
+                String agentId = agentIds.get(i);
+                AgentInvocationResult result = results[i];
+
+                if (result == null) {
+                    metadata.put(agentId + ".status", errors[i] != null ? "error" : "cancelled");
+                    if (errors[i] != null) {
+                        metadata.put(agentId + ".processing_time_ms", Long.toString(elapsedMs[i]));
+                        metadata.put(agentId + ".error", String.valueOf(errors[i].getMessage()));
+                    }
+                    continue;
+                }
+
+                metadata.put(agentId + ".status", "ok");
+                if (policy == EnsemblePolicy.FIRST_SUCCESS) {
+                    metadata.put("ensemble_winner", agentId);
+                }
+                metadata.put(agentId + ".processing_time_ms", Long.toString(elapsedMs[i]));
+                metadata.put(agentId + ".total_tokens", Integer.toString(result.getTotalTokens()));
+                result.getMetadata().forEach((key, value) -> metadata.put(agentId + "." + key, value));
+
+                if (merged > 0) {
+                    response.append("\n\n");
+                }
+                response.append('[').append(agentId).append("]\n").append(result.getResponse());
+                merged++;
+
+                promptTokens += result.getPromptTokens();
+                completionTokens += result.getCompletionTokens();
+                totalTokens += result.getTotalTokens();
+                last = result;
+            }
+
+            // A first-success merge holds exactly one response, returned as the agent produced it
+            String text = policy == EnsemblePolicy.FIRST_SUCCESS ? last.getResponse() : response.toString();
+            return new AgentInvocationResult(text, promptTokens, completionTokens, totalTokens, metadata);
+        }
+
+        private synchronized Throwable firstError() {
+            for (Throwable error : errors) {
+                if (error != null) {
+                    return error;
+                }
+            }
+            return new IllegalStateException("Ensemble could not be satisfied");
+        }
+
+        private static Throwable unwrap(Throwable error) {
+            return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        }
+    }
+}
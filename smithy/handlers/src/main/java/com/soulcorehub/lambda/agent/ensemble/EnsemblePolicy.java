@@ -0,0 +1,40 @@
+package com.soulcorehub.lambda.agent.ensemble;
+
+import java.util.Locale;
+
+/**
+ * How the responses of an ensemble invocation are merged
+ */
+public enum EnsemblePolicy {
+    /**
+     * Wait for every agent and combine all successful responses
+     */
+    ALL,
+
+    /**
+     * Return the first successful response and cancel the remaining agents
+     */
+    FIRST_SUCCESS,
+
+    /**
+     * Return once a quorum of agents has succeeded, combining their responses
+     */
+    QUORUM;
+
+    /**
+     * Parses a policy name
+     *
+     * @param name The policy name, case-insensitive, or null for {@link #ALL}
+     * @return The policy
+     */
+    public static EnsemblePolicy parse(String name) {
+        if (name == null || name.isEmpty()) {
+            return ALL;
+        }
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown merge policy: " + name);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.soulcorehub.lambda.agent.model;
+
+import java.util.List;
+
+/**
+ * Input for the BatchGetAgents operation
+ */
+public class BatchGetAgentsInput {
+    private List<String> agentIds;
+
+    /**
+     * Gets the IDs of the agents to retrieve
+     *
+     * @return The agent IDs
+     */
+    public List<String> getAgentIds() {
+        return agentIds;
+    }
+
+    /**
+     * Sets the IDs of the agents to retrieve
+     *
+     * @param agentIds The agent IDs
+     */
+    public void setAgentIds(List<String> agentIds) {
+        this.agentIds = agentIds;
+    }
+}
@@ -0,0 +1,49 @@
+package com.soulcorehub.lambda.agent.model;
+
+import com.soulcorehub.api.Agent;
+
+import java.util.List;
+
+/**
+ * Output for the BatchGetAgents operation
+ */
+public class BatchGetAgentsOutput {
+    private List<Agent> agents;
+    private List<String> notFoundAgentIds;
+
+    /**
+     * Gets the agents that were found, in request order
+     *
+     * @return The agents
+     */
+    public List<Agent> getAgents() {
+        return agents;
+    }
+
+    /**
+     * Sets the agents that were found
+     *
+     * @param agents The agents
+     */
+    public void setAgents(List<Agent> agents) {
+        this.agents = agents;
+    }
+
+    /**
+     * Gets the requested agent IDs that do not exist
+     *
+     * @return The agent IDs that were not found
+     */
+    public List<String> getNotFoundAgentIds() {
+        return notFoundAgentIds;
+    }
+
+    /**
+     * Sets the requested agent IDs that do not exist
+     *
+     * @param notFoundAgentIds The agent IDs that were not found
+     */
+    public void setNotFoundAgentIds(List<String> notFoundAgentIds) {
+        this.notFoundAgentIds = notFoundAgentIds;
+    }
+}
@@ -0,0 +1,31 @@
+package com.soulcorehub.lambda.agent.model;
+
+import com.soulcorehub.api.GetAgentInput;
+
+import java.util.List;
+
+/**
+ * GetAgent input with an optional field mask.
+ * When fields are given, only those agent attributes are read and returned.
+ */
+public class GetAgentRequest extends GetAgentInput {
+    private List<String> fields;
+
+    /**
+     * Gets the agent attributes to return
+     *
+     * @return The field mask, or null for every attribute
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Sets the agent attributes to return
+     *
+     * @param fields The field mask, or null for every attribute
+     */
+    public void setFields(List<String> fields) {
+        this.fields = fields;
+    }
+}
@@ -0,0 +1,29 @@
+package com.soulcorehub.lambda.agent.model;
+
+import com.soulcorehub.api.InvokeAgentInput;
+
+/**
+ * InvokeAgent input with an optional reference to a stored context.
+ * A contextRef returned by PutContext can be sent instead of the inline context.
+ */
+public class InvokeAgentRequest extends InvokeAgentInput {
+    private String contextRef;
+
+    /**
+     * Gets the reference to a stored context
+     *
+     * @return The context reference, or null when the context is inline or absent
+     */
+    public String getContextRef() {
+        return contextRef;
+    }
+
+    /**
+     * Sets the reference to a stored context
+     *
+     * @param contextRef The context reference, or null when the context is inline or absent
+     */
+    public void setContextRef(String contextRef) {
+        this.contextRef = contextRef;
+    }
+}
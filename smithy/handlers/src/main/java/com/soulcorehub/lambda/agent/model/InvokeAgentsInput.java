@@ -0,0 +1,47 @@
+package com.soulcorehub.lambda.agent.model;
+
+import java.util.List;
+
+/**
+ * Input for the InvokeAgents operation
+ */
+public class InvokeAgentsInput {
+    private List<InvokeAgentRequest> items;
+    private Integer maxConcurrency;
+
+    /**
+     * Gets the invocations to run
+     *
+     * @return The invocations
+     */
+    public List<InvokeAgentRequest> getItems() {
+        return items;
+    }
+
+    /**
+     * Sets the invocations to run
+     *
+     * @param items The invocations
+     */
+    public void setItems(List<InvokeAgentRequest> items) {
+        this.items = items;
+    }
+
+    /**
+     * Gets the maximum number of invocations to run at once
+     *
+     * @return The concurrency limit, or null for the default
+     */
+    public Integer getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of invocations to run at once
+     *
+     * @param maxConcurrency The concurrency limit, or null for the default
+     */
+    public void setMaxConcurrency(Integer maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+}
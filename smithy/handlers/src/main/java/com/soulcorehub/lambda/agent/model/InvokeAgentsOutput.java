@@ -0,0 +1,49 @@
+package com.soulcorehub.lambda.agent.model;
+
+import com.soulcorehub.api.UsageInfo;
+
+import java.util.List;
+
+/**
+ * Output for the InvokeAgents operation
+ */
+public class InvokeAgentsOutput {
+    private List<InvokeAgentsResult> results;
+    private UsageInfo usage;
+
+    /**
+     * Gets the per-invocation results, in request order
+     *
+     * @return The results
+     */
+    public List<InvokeAgentsResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Sets the per-invocation results, in request order
+     *
+     * @param results The results
+     */
+    public void setResults(List<InvokeAgentsResult> results) {
+        this.results = results;
+    }
+
+    /**
+     * Gets the token usage summed over all successful invocations
+     *
+     * @return The aggregated usage
+     */
+    public UsageInfo getUsage() {
+        return usage;
+    }
+
+    /**
+     * Sets the token usage summed over all successful invocations
+     *
+     * @param usage The aggregated usage
+     */
+    public void setUsage(UsageInfo usage) {
+        this.usage = usage;
+    }
+}
@@ -0,0 +1,144 @@
+package com.soulcorehub.lambda.agent.model;
+
+import com.soulcorehub.api.UsageInfo;
+
+import java.util.Map;
+
+/**
+ * Result of one invocation in an InvokeAgents batch. Exactly one of response and errorCode is set.
+ */
+public class InvokeAgentsResult {
+    private Integer index;
+    private String agentId;
+    private String response;
+    private Map<String, String> metadata;
+    private UsageInfo usage;
+    private String errorCode;
+    private String errorMessage;
+
+    /**
+     * Gets the position of the invocation in the request
+     *
+     * @return The index
+     */
+    public Integer getIndex() {
+        return index;
+    }
+
+    /**
+     * Sets the position of the invocation in the request
+     *
+     * @param index The index
+     */
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    /**
+     * Gets the ID of the invoked agent
+     *
+     * @return The agent ID
+     */
+    public String getAgentId() {
+        return agentId;
+    }
+
+    /**
+     * Sets the ID of the invoked agent
+     *
+     * @param agentId The agent ID
+     */
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    /**
+     * Gets the agent response
+     *
+     * @return The response, or null if the invocation failed
+     */
+    public String getResponse() {
+        return response;
+    }
+
+    /**
+     * Sets the agent response
+     *
+     * @param response The response
+     */
+    public void setResponse(String response) {
+        this.response = response;
+    }
+
+    /**
+     * Gets metadata about the invocation
+     *
+     * @return The metadata, or null if the invocation failed
+     */
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Sets metadata about the invocation
+     *
+     * @param metadata The metadata
+     */
+    public void setMetadata(Map<String, String> metadata) {
+        this.metadata = metadata;
+    }
+
+    /**
+     * Gets the token usage of the invocation
+     *
+     * @return The usage, or null if the invocation failed
+     */
+    public UsageInfo getUsage() {
+        return usage;
+    }
+
+    /**
+     * Sets the token usage of the invocation
+     *
+     * @param usage The usage
+     */
+    public void setUsage(UsageInfo usage) {
+        this.usage = usage;
+    }
+
+    /**
+     * Gets the error code of a failed invocation
+     *
+     * @return The error code, or null if the invocation succeeded
+     */
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Sets the error code of a failed invocation
+     *
+     * @param errorCode The error code
+     */
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    /**
+     * Gets the error message of a failed invocation
+     *
+     * @return The error message, or null if the invocation succeeded
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Sets the error message of a failed invocation
+     *
+     * @param errorMessage The error message
+     */
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
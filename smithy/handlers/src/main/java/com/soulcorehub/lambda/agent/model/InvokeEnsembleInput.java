@@ -0,0 +1,181 @@
+package com.soulcorehub.lambda.agent.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input for the InvokeEnsemble operation, which sends one prompt to several agents at once
+ */
+public class InvokeEnsembleInput {
+    private List<String> agentIds;
+    private String prompt;
+    private Map<String, String> parameters;
+    private String context;
+    private String contextRef;
+    private Integer maxTokens;
+    private Float temperature;
+    private String mergePolicy;
+    private Integer quorum;
+
+    /**
+     * Gets the IDs of the agents to invoke
+     *
+     * @return The agent IDs
+     */
+    public List<String> getAgentIds() {
+        return agentIds;
+    }
+
+    /**
+     * Sets the IDs of the agents to invoke
+     *
+     * @param agentIds The agent IDs
+     */
+    public void setAgentIds(List<String> agentIds) {
+        this.agentIds = agentIds;
+    }
+
+    /**
+     * Gets the prompt to send to every agent
+     *
+     * @return The prompt
+     */
+    public String getPrompt() {
+        return prompt;
+    }
+
+    /**
+     * Sets the prompt to send to every agent
+     *
+     * @param prompt The prompt
+     */
+    public void setPrompt(String prompt) {
+        this.prompt = prompt;
+    }
+
+    /**
+     * Gets additional parameters for the agents
+     *
+     * @return The parameters
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Sets additional parameters for the agents
+     *
+     * @param parameters The parameters
+     */
+    public void setParameters(Map<String, String> parameters) {
+        this.parameters = parameters;
+    }
+
+    /**
+     * Gets the inline context for the agents
+     *
+     * @return The context, or null
+     */
+    public String getContext() {
+        return context;
+    }
+
+    /**
+     * Sets the inline context for the agents
+     *
+     * @param context The context, or null
+     */
+    public void setContext(String context) {
+        this.context = context;
+    }
+
+    /**
+     * Gets the reference to a stored context
+     *
+     * @return The context reference, or null
+     */
+    public String getContextRef() {
+        return contextRef;
+    }
+
+    /**
+     * Sets the reference to a stored context
+     *
+     * @param contextRef The context reference, or null
+     */
+    public void setContextRef(String contextRef) {
+        this.contextRef = contextRef;
+    }
+
+    /**
+     * Gets the maximum tokens each agent may generate
+     *
+     * @return The maximum tokens
+     */
+    public Integer getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * Sets the maximum tokens each agent may generate
+     *
+     * @param maxTokens The maximum tokens
+     */
+    public void setMaxTokens(Integer maxTokens) {
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * Gets the temperature for generation
+     *
+     * @return The temperature
+     */
+    public Float getTemperature() {
+        return temperature;
+    }
+
+    /**
+     * Sets the temperature for generation
+     *
+     * @param temperature The temperature
+     */
+    public void setTemperature(Float temperature) {
+        this.temperature = temperature;
+    }
+
+    /**
+     * Gets how agent responses are merged: ALL, FIRST_SUCCESS or QUORUM
+     *
+     * @return The merge policy, or null for ALL
+     */
+    public String getMergePolicy() {
+        return mergePolicy;
+    }
+
+    /**
+     * Sets how agent responses are merged: ALL, FIRST_SUCCESS or QUORUM
+     *
+     * @param mergePolicy The merge policy, or null for ALL
+     */
+    public void setMergePolicy(String mergePolicy) {
+        this.mergePolicy = mergePolicy;
+    }
+
+    /**
+     * Gets the number of successful agents required by the QUORUM policy
+     *
+     * @return The quorum, or null for a majority
+     */
+    public Integer getQuorum() {
+        return quorum;
+    }
+
+    /**
+     * Sets the number of successful agents required by the QUORUM policy
+     *
+     * @param quorum The quorum, or null for a majority
+     */
+    public void setQuorum(Integer quorum) {
+        this.quorum = quorum;
+    }
+}
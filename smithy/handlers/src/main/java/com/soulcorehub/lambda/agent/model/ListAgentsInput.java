@@ -0,0 +1,121 @@
+package com.soulcorehub.lambda.agent.model;
+
+/**
+ * Input for the ListAgents operation
+ */
+public class ListAgentsInput {
+    private Integer limit;
+    private String nextToken;
+    private String status;
+    private String type;
+    private Boolean exportAll;
+    private Integer segments;
+
+    /**
+     * Gets the maximum number of agents to read for this page
+     *
+     * @return The page limit
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the maximum number of agents to read for this page
+     *
+     * @param limit The page limit
+     */
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the token returned by the previous page
+     *
+     * @return The page token
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /**
+     * Sets the token returned by the previous page
+     *
+     * @param nextToken The page token
+     */
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Gets the agent status to filter on
+     *
+     * @return The status filter
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Sets the agent status to filter on
+     *
+     * @param status The status filter
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Gets the agent type to filter on
+     *
+     * @return The type filter
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Sets the agent type to filter on
+     *
+     * @param type The type filter
+     */
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Gets whether to export every agent to S3 with a parallel scan instead of returning one page
+     *
+     * @return True for a full export
+     */
+    public Boolean getExportAll() {
+        return exportAll;
+    }
+
+    /**
+     * Sets whether to export every agent to S3 with a parallel scan instead of returning one page
+     *
+     * @param exportAll True for a full export
+     */
+    public void setExportAll(Boolean exportAll) {
+        this.exportAll = exportAll;
+    }
+
+    /**
+     * Gets the number of parallel scan segments used for a full export
+     *
+     * @return The segment count
+     */
+    public Integer getSegments() {
+        return segments;
+    }
+
+    /**
+     * Sets the number of parallel scan segments used for a full export
+     *
+     * @param segments The segment count
+     */
+    public void setSegments(Integer segments) {
+        this.segments = segments;
+    }
+}
@@ -0,0 +1,87 @@
+package com.soulcorehub.lambda.agent.model;
+
+import com.soulcorehub.api.Agent;
+
+import java.util.List;
+
+/**
+ * Output for the ListAgents operation
+ */
+public class ListAgentsOutput {
+    private List<Agent> agents;
+    private String nextToken;
+    private String exportLocation;
+    private Integer exportedCount;
+
+    /**
+     * Gets the agents in this page
+     *
+     * @return The agents
+     */
+    public List<Agent> getAgents() {
+        return agents;
+    }
+
+    /**
+     * Sets the agents in this page
+     *
+     * @param agents The agents
+     */
+    public void setAgents(List<Agent> agents) {
+        this.agents = agents;
+    }
+
+    /**
+     * Gets the token for the next page, or null if this is the last page
+     *
+     * @return The page token
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /**
+     * Sets the token for the next page
+     *
+     * @param nextToken The page token
+     */
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Gets the S3 location an export was written to, or null if this is a page of agents
+     *
+     * @return The export location as an s3:// URI
+     */
+    public String getExportLocation() {
+        return exportLocation;
+    }
+
+    /**
+     * Sets the S3 location an export was written to
+     *
+     * @param exportLocation The export location as an s3:// URI
+     */
+    public void setExportLocation(String exportLocation) {
+        this.exportLocation = exportLocation;
+    }
+
+    /**
+     * Gets the number of agents written by an export
+     *
+     * @return The exported agent count
+     */
+    public Integer getExportedCount() {
+        return exportedCount;
+    }
+
+    /**
+     * Sets the number of agents written by an export
+     *
+     * @param exportedCount The exported agent count
+     */
+    public void setExportedCount(Integer exportedCount) {
+        this.exportedCount = exportedCount;
+    }
+}
@@ -0,0 +1,26 @@
+package com.soulcorehub.lambda.agent.model;
+
+/**
+ * Input for the PutContext operation
+ */
+public class PutContextInput {
+    private String context;
+
+    /**
+     * Gets the context text to store
+     *
+     * @return The context text
+     */
+    public String getContext() {
+        return context;
+    }
+
+    /**
+     * Sets the context text to store
+     *
+     * @param context The context text
+     */
+    public void setContext(String context) {
+        this.context = context;
+    }
+}
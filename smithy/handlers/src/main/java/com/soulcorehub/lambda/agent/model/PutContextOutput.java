@@ -0,0 +1,26 @@
+package com.soulcorehub.lambda.agent.model;
+
+/**
+ * Output for the PutContext operation
+ */
+public class PutContextOutput {
+    private String contextRef;
+
+    /**
+     * Gets the reference to pass as contextRef when invoking an agent
+     *
+     * @return The context reference
+     */
+    public String getContextRef() {
+        return contextRef;
+    }
+
+    /**
+     * Sets the context reference
+     *
+     * @param contextRef The context reference
+     */
+    public void setContextRef(String contextRef) {
+        this.contextRef = contextRef;
+    }
+}
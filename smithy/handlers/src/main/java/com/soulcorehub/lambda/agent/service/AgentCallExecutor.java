@@ -0,0 +1,188 @@
+package com.soulcorehub.lambda.agent.service;
+
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor for backend calls of one agent type.
+ * Each agent type gets its own executor, so a slow backend can only exhaust its own threads
+ * instead of the common fork-join pool shared by the rest of the JVM.
+ *
+ * <p>AGENT_EXECUTOR_MODE selects the execution model:
+ * <ul>
+ *   <li>platform (default): a bounded thread pool with a bounded queue; calls beyond both are rejected</li>
+ *   <li>virtual: a new virtual thread per call, on runtimes that support virtual threads</li>
+ * </ul>
+ * Pool size and queue capacity come from AGENT_EXECUTOR_THREADS and AGENT_EXECUTOR_QUEUE_CAPACITY,
+ * and can be overridden per type with a suffix, for example AGENT_EXECUTOR_THREADS_ANIMA.
+ */
+public class AgentCallExecutor implements Executor {
+    private static final Logger logger = LoggerFactory.getLogger(AgentCallExecutor.class);
+    private static final String MODE = EnvironmentConfig.getString("AGENT_EXECUTOR_MODE", "platform");
+    private static final int DEFAULT_THREADS = EnvironmentConfig.getInt("AGENT_EXECUTOR_THREADS", 16);
+    private static final int DEFAULT_QUEUE_CAPACITY = EnvironmentConfig.getInt("AGENT_EXECUTOR_QUEUE_CAPACITY", 256);
+
+    private static final ConcurrentMap<String, AgentCallExecutor> EXECUTORS = new ConcurrentHashMap<>();
+
+    private final String agentType;
+    private final ExecutorService delegate;
+    private final ThreadPoolExecutor pool;
+    private final AtomicInteger activeCalls = new AtomicInteger();
+    private final AtomicLong completedCalls = new AtomicLong();
+    private final AtomicLong rejectedCalls = new AtomicLong();
+
+    private AgentCallExecutor(String agentType, ExecutorService delegate, ThreadPoolExecutor pool) {
+        this.agentType = agentType;
+        this.delegate = delegate;
+        this.pool = pool;
+    }
+
+    /**
+     * Gets the shared executor for an agent type, creating it on first use
+     *
+     * @param agentType The type of agent
+     * @return The executor for that agent type
+     */
+    public static AgentCallExecutor forAgentType(String agentType) {
+        return EXECUTORS.computeIfAbsent(agentType, AgentCallExecutor::create);
+    }
+
+    /**
+     * Gets every executor created so far, for reporting gauges
+     *
+     * @return The executors
+     */
+    public static Collection<AgentCallExecutor> getExecutors() {
+        return Collections.unmodifiableCollection(EXECUTORS.values());
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        try {
+            delegate.execute(() -> {
+                activeCalls.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    activeCalls.decrementAndGet();
+                    completedCalls.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCalls.incrementAndGet();
+            logger.warn("Rejected {} agent call: {} active, {} queued", agentType, getActiveCalls(), getQueueDepth());
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the agent type this executor serves
+     *
+     * @return The agent type
+     */
+    public String getAgentType() {
+        return agentType;
+    }
+
+    /**
+     * Gets the number of calls currently running
+     *
+     * @return The active call count
+     */
+    public int getActiveCalls() {
+        return activeCalls.get();
+    }
+
+    /**
+     * Gets the number of calls waiting for a thread. Always zero for virtual threads.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+        return pool != null ? pool.getQueue().size() : 0;
+    }
+
+    /**
+     * Gets the number of calls that have finished
+     *
+     * @return The completed call count
+     */
+    public long getCompletedCalls() {
+        return completedCalls.get();
+    }
+
+    /**
+     * Gets the number of calls rejected because the pool and queue were full
+     *
+     * @return The rejected call count
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+
+    private static AgentCallExecutor create(String agentType) {
+        String suffix = "_" + agentType.toUpperCase(Locale.ROOT);
+
+        if ("virtual".equalsIgnoreCase(MODE)) {
+            ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+            if (virtual != null) {
+                logger.info("Using virtual threads for {} agent calls", agentType);
+                return new AgentCallExecutor(agentType, virtual, null);
+            }
+            logger.warn("Virtual threads are not available on this runtime; using a platform thread pool");
+        }
+
+        int threads = EnvironmentConfig.getInt("AGENT_EXECUTOR_THREADS" + suffix, DEFAULT_THREADS);
+        int queueCapacity = EnvironmentConfig.getInt("AGENT_EXECUTOR_QUEUE_CAPACITY" + suffix, DEFAULT_QUEUE_CAPACITY);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "agent-" + agentType + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        pool.allowCoreThreadTimeOut(true);
+
+        logger.info("Using {} platform threads and a queue of {} for {} agent calls", threads, queueCapacity, agentType);
+        return new AgentCallExecutor(agentType, pool, pool);
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor through reflection, so the module still
+     * targets Java 11 and runs on runtimes without virtual threads
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.soulcorehub.lambda.agent.service;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable result of an agent invocation.
+ * Token counts are primitives and the metadata map is wrapped as unmodifiable rather than
+ * copied, so services can share a prebuilt map across results.
+ */
+public final class AgentInvocationResult {
+    private final String response;
+    private final int promptTokens;
+    private final int completionTokens;
+    private final int totalTokens;
+    private final Map<String, String> metadata;
+
+    /**
+     * Creates a new AgentInvocationResult
+     *
+     * @param response         The response text
+     * @param promptTokens     Tokens in the prompt
+     * @param completionTokens Tokens in the response
+     * @param totalTokens      Total tokens used
+     * @param metadata         Metadata about the invocation, which must not be modified afterwards
+     */
+    public AgentInvocationResult(
+            String response,
+            int promptTokens,
+            int completionTokens,
+            int totalTokens,
+            Map<String, String> metadata
+    ) {
+        this.response = response;
+        this.promptTokens = promptTokens;
+        this.completionTokens = completionTokens;
+        this.totalTokens = totalTokens;
+        this.metadata = metadata != null ? Collections.unmodifiableMap(metadata) : Collections.emptyMap();
+    }
+
+    /**
+     * Gets the response text
+     *
+     * @return The response text
+     */
+    public String getResponse() {
+        return response;
+    }
+
+    /**
+     * Gets the number of tokens in the prompt
+     *
+     * @return The prompt token count
+     */
+    public int getPromptTokens() {
+        return promptTokens;
+    }
+
+    /**
+     * Gets the number of tokens in the response
+     *
+     * @return The completion token count
+     */
+    public int getCompletionTokens() {
+        return completionTokens;
+    }
+
+    /**
+     * Gets the total number of tokens used
+     *
+     * @return The total token count
+     */
+    public int getTotalTokens() {
+        return totalTokens;
+    }
+
+    /**
+     * Gets metadata about the invocation
+     *
+     * @return The unmodifiable metadata map
+     */
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Reads a token count, accepting any numeric type a backend or JSON parser produces
+     */
+    static int intValue(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+}
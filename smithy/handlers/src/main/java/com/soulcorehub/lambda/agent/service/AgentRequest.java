@@ -0,0 +1,192 @@
+package com.soulcorehub.lambda.agent.service;
+
+import com.soulcorehub.lambda.util.Deadline;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable request to invoke an agent.
+ * The backend payload is built when the request is created, so handlers can prepare it
+ * while other work, such as the agent lookup, is still in flight. The request carries the
+ * caller's deadline so services can bound backend calls by it.
+ */
+public final class AgentRequest {
+    private final String agentId;
+    private final String prompt;
+    private final Map<String, String> parameters;
+    private final String context;
+    private final Integer maxTokens;
+    private final Float temperature;
+    private final Deadline deadline;
+    private final Map<String, Object> payload;
+
+    /**
+     * Creates a new AgentRequest
+     *
+     * @param agentId     The ID of the agent to invoke
+     * @param prompt      The prompt to send to the agent
+     * @param parameters  Additional parameters for the agent
+     * @param context     Context for the agent
+     * @param maxTokens   Maximum tokens to generate
+     * @param temperature Temperature for generation
+     */
+    public AgentRequest(
+            String agentId,
+            String prompt,
+            Map<String, String> parameters,
+            String context,
+            Integer maxTokens,
+            Float temperature
+    ) {
+        this(agentId, prompt, parameters, context, maxTokens, temperature, Deadline.none());
+    }
+
+    /**
+     * Creates a new AgentRequest bounded by a deadline
+     *
+     * @param agentId     The ID of the agent to invoke
+     * @param prompt      The prompt to send to the agent
+     * @param parameters  Additional parameters for the agent
+     * @param context     Context for the agent
+     * @param maxTokens   Maximum tokens to generate
+     * @param temperature Temperature for generation
+     * @param deadline    The deadline of the calling request
+     */
+    public AgentRequest(
+            String agentId,
+            String prompt,
+            Map<String, String> parameters,
+            String context,
+            Integer maxTokens,
+            Float temperature,
+            Deadline deadline
+    ) {
+        this.agentId = agentId;
+        this.prompt = prompt;
+        this.parameters = parameters;
+        this.context = context;
+        this.maxTokens = maxTokens;
+        this.temperature = temperature;
+        this.deadline = deadline != null ? deadline : Deadline.none();
+        this.payload = buildPayload();
+    }
+
+    private AgentRequest(AgentRequest request, Deadline deadline) {
+        this.agentId = request.agentId;
+        this.prompt = request.prompt;
+        this.parameters = request.parameters;
+        this.context = request.context;
+        this.maxTokens = request.maxTokens;
+        this.temperature = request.temperature;
+        this.deadline = deadline;
+        this.payload = request.payload;
+    }
+
+    /**
+     * Gets a copy of this request with another deadline, sharing the prepared payload
+     *
+     * @param deadline The deadline of the copy
+     * @return The copy, or this request if the deadline is the same
+     */
+    public AgentRequest withDeadline(Deadline deadline) {
+        Deadline bounded = deadline != null ? deadline : Deadline.none();
+        return bounded == this.deadline ? this : new AgentRequest(this, bounded);
+    }
+
+    /**
+     * Gets the ID of the agent to invoke
+     *
+     * @return The ID of the agent to invoke
+     */
+    public String getAgentId() {
+        return agentId;
+    }
+
+    /**
+     * Gets the prompt to send to the agent
+     *
+     * @return The prompt to send to the agent
+     */
+    public String getPrompt() {
+        return prompt;
+    }
+
+    /**
+     * Gets the additional parameters for the agent
+     *
+     * @return The additional parameters for the agent
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets the context for the agent
+     *
+     * @return The context for the agent
+     */
+    public String getContext() {
+        return context;
+    }
+
+    /**
+     * Gets the maximum tokens to generate
+     *
+     * @return The maximum tokens to generate
+     */
+    public Integer getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * Gets the temperature for generation
+     *
+     * @return The temperature for generation
+     */
+    public Float getTemperature() {
+        return temperature;
+    }
+
+    /**
+     * Gets the deadline of the calling request
+     *
+     * @return The deadline, or {@link Deadline#none()} if the request is unbounded
+     */
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Gets the request payload sent to the agent backend
+     *
+     * @return An unmodifiable payload map
+     */
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    private Map<String, Object> buildPayload() {
+        Map<String, Object> payload = new HashMap<>(8);
+        payload.put("prompt", prompt);
+
+        if (parameters != null) {
+            payload.put("parameters", parameters);
+        }
+
+        if (context != null) {
+            payload.put("context", context);
+        }
+
+        if (maxTokens != null) {
+            payload.put("max_tokens", maxTokens);
+        }
+
+        if (temperature != null) {
+            payload.put("temperature", temperature);
+        }
+
+        return Collections.unmodifiableMap(payload);
+    }
+}
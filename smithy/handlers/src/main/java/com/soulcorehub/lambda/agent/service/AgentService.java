@@ -1,6 +1,8 @@
 package com.soulcorehub.lambda.agent.service;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 /**
  * Interface for agent services
@@ -15,9 +17,9 @@ public interface AgentService {
      * @param context     Context for the agent
      * @param maxTokens   Maximum tokens to generate
      * @param temperature Temperature for generation
-     * @return A map containing the response and metadata
+     * @return The response, token usage and metadata
      */
-    Map<String, Object> invokeAgent(
+    AgentInvocationResult invokeAgent(
             String agentId,
             String prompt,
             Map<String, String> parameters,
@@ -25,4 +27,50 @@ public interface AgentService {
             Integer maxTokens,
             Float temperature
     );
+
+    /**
+     * Invokes an agent with a prepared request
+     *
+     * @param request The agent request, including its prebuilt payload
+     * @return The response, token usage and metadata
+     */
+    default AgentInvocationResult invokeAgent(AgentRequest request) {
+        return invokeAgent(
+                request.getAgentId(),
+                request.getPrompt(),
+                request.getParameters(),
+                request.getContext(),
+                request.getMaxTokens(),
+                request.getTemperature()
+        );
+    }
+
+    /**
+     * Invokes an agent without holding the calling thread for the backend call.
+     * Services that only implement the blocking call run it on the calling thread.
+     *
+     * @param request The agent request
+     * @return A stage completed with the invocation result
+     */
+    default CompletionStage<AgentInvocationResult> invokeAgentAsync(AgentRequest request) {
+        try {
+            return CompletableFuture.completedFuture(invokeAgent(request));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Invokes an agent and streams the response as it is generated.
+     * Services without a streaming backend emit the complete response as a single chunk.
+     *
+     * @param request  The agent request
+     * @param listener Receives response chunks in order
+     * @return The complete response, token usage and metadata
+     */
+    default AgentInvocationResult streamAgent(AgentRequest request, AgentStreamListener listener) {
+        AgentInvocationResult result = invokeAgent(request);
+        listener.onChunk(result.getResponse());
+        return result;
+    }
 }
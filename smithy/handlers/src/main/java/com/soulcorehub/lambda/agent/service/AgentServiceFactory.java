@@ -1,21 +1,64 @@
 package com.soulcorehub.lambda.agent.service;
 
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+
 import java.util.HashMap;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Factory for creating agent services
+ * Factory for creating agent services.
+ * Agent types are registered by {@link AgentServiceProvider}s found with {@link ServiceLoader}.
+ * Each service is created and decorated on first use of its type, so a container that only
+ * serves one agent type never initializes the others. Unknown types are served by the type
+ * named in AGENT_DEFAULT_TYPE (default GPTSoul).
+ *
+ * <p>Handlers share the factory from {@link #getInstance()}, so every handler in the process
+ * calls each backend through the same circuit breaker, concurrency limit and hedging budget.
  */
 public class AgentServiceFactory {
-    private final Map<String, AgentService> serviceMap;
+    private static final Logger logger = LoggerFactory.getLogger(AgentServiceFactory.class);
+    private static final String DEFAULT_TYPE = EnvironmentConfig.getString("AGENT_DEFAULT_TYPE", "GPTSoul");
 
+    private final Map<String, AgentServiceProvider> providers;
+    private final ConcurrentMap<String, AgentService> services = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a factory for the providers registered on the classpath
+     */
     public AgentServiceFactory() {
-        serviceMap = new HashMap<>();
-        serviceMap.put("GPTSoul", new GPTSoulAgentService());
-        serviceMap.put("Anima", new AnimaAgentService());
-        serviceMap.put("EvoVe", new EvoVeAgentService());
-        serviceMap.put("Azur", new AzurAgentService());
-        serviceMap.put("default", new DefaultAgentService());
+        this(ServiceLoader.load(AgentServiceProvider.class, AgentServiceFactory.class.getClassLoader()));
+    }
+
+    /**
+     * Creates a factory for a set of providers
+     *
+     * @param providers The providers; the first provider of each agent type wins
+     */
+    public AgentServiceFactory(Iterable<? extends AgentServiceProvider> providers) {
+        this.providers = new HashMap<>();
+        for (AgentServiceProvider provider : providers) {
+            AgentServiceProvider existing = this.providers.putIfAbsent(provider.getAgentType(), provider);
+            if (existing != null) {
+                logger.warn("Ignoring {} for agent type {}, already provided by {}",
+                        provider.getClass().getName(), provider.getAgentType(), existing.getClass().getName());
+            }
+        }
+        logger.info("Registered agent types: {}", this.providers.keySet());
+    }
+
+    /**
+     * Gets the factory shared by the handlers, created on first use for the providers registered on the classpath
+     *
+     * @return The agent service factory
+     */
+    public static AgentServiceFactory getInstance() {
+        return Holder.INSTANCE;
     }
 
     /**
@@ -23,8 +66,47 @@ public class AgentServiceFactory {
      *
      * @param agentType The type of agent
      * @return An agent service
+     * @throws IllegalStateException If neither the type nor the default type is registered
      */
     public AgentService getAgentService(String agentType) {
-        return serviceMap.getOrDefault(agentType, serviceMap.get("default"));
+        AgentServiceProvider provider = agentType != null ? providers.get(agentType) : null;
+        if (provider == null) {
+            provider = providers.get(DEFAULT_TYPE);
+            if (provider == null) {
+                throw new IllegalStateException("No agent service registered for type " + agentType
+                        + " or default type " + DEFAULT_TYPE);
+            }
+        }
+
+        // Plain lookup first, so only the first call per type takes computeIfAbsent's lock
+        AgentService service = services.get(provider.getAgentType());
+        if (service != null) {
+            return service;
+        }
+
+        AgentServiceProvider selected = provider;
+        return services.computeIfAbsent(selected.getAgentType(), type -> create(type, selected));
+    }
+
+    /**
+     * Creates and decorates the service for an agent type
+     */
+    private static AgentService create(String agentType, AgentServiceProvider provider) {
+        long startTime = System.currentTimeMillis();
+        AgentService service = decorate(agentType, provider.create());
+        logger.info("Created {} agent service in {} ms", agentType, System.currentTimeMillis() - startTime);
+        return service;
+    }
+
+    /**
+     * Wraps a service with the per-type resilience layer and hedging. Hedging sits outside,
+     * so each hedge call also passes through the breaker and concurrency limit.
+     */
+    private static AgentService decorate(String agentType, AgentService service) {
+        return HedgingAgentService.wrap(agentType, ResilientAgentService.wrap(agentType, service));
+    }
+
+    private static final class Holder {
+        static final AgentServiceFactory INSTANCE = new AgentServiceFactory();
     }
 }
@@ -0,0 +1,25 @@
+package com.soulcorehub.lambda.agent.service;
+
+/**
+ * Supplies the agent service for one agent type.
+ * Providers are discovered with {@link java.util.ServiceLoader} from
+ * {@code META-INF/services/com.soulcorehub.lambda.agent.service.AgentServiceProvider}, so new
+ * agent types can be added without editing {@link AgentServiceFactory}. Providers are created
+ * eagerly and must be cheap; anything expensive, such as backend clients, belongs in the service
+ * returned by {@link #create()}, which is only called on first use of the type.
+ */
+public interface AgentServiceProvider {
+    /**
+     * Gets the agent type this provider serves, matching the agent's {@code type} attribute
+     *
+     * @return The agent type
+     */
+    String getAgentType();
+
+    /**
+     * Creates the service for this agent type
+     *
+     * @return A new agent service
+     */
+    AgentService create();
+}
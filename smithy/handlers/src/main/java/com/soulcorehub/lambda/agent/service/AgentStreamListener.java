@@ -0,0 +1,14 @@
+package com.soulcorehub.lambda.agent.service;
+
+/**
+ * Receives the response of a streaming agent invocation as it is generated
+ */
+@FunctionalInterface
+public interface AgentStreamListener {
+    /**
+     * Called for each chunk of response text, in order
+     *
+     * @param text The chunk of response text
+     */
+    void onChunk(String text);
+}
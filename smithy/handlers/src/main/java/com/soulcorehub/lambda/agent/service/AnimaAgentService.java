@@ -1,8 +1,21 @@
 package com.soulcorehub.lambda.agent.service;
 
+import com.soulcorehub.lambda.agent.emotion.EmotionMatcher;
+import com.soulcorehub.lambda.agent.emotion.EmotionScores;
+import com.soulcorehub.lambda.agent.tokenizer.TokenCounter;
+import com.soulcorehub.lambda.agent.tokenizer.Tokenizers;
+import com.soulcorehub.lambda.agent.transport.AgentBackend;
+import com.soulcorehub.lambda.agent.transport.AgentHttpTransport;
+import com.soulcorehub.lambda.exception.AgentUnavailableException;
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.Futures;
+
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
@@ -13,11 +26,19 @@ import org.slf4j.LoggerFactory;
  */
 public class AnimaAgentService implements AgentService {
     private static final Logger logger = LoggerFactory.getLogger(AnimaAgentService.class);
-    private static final String API_ENDPOINT = System.getenv("ANIMA_API_ENDPOINT");
-    private static final String API_KEY = System.getenv("ANIMA_API_KEY");
+    private static final AgentBackend BACKEND = AgentBackend.fromEnvironment("Anima", "ANIMA");
+    private static final long FIRST_CHUNK_DELAY_MS = 100;
+    private static final long CHUNK_DELAY_MS = 10;
+    private static final AgentCallExecutor EXECUTOR = AgentCallExecutor.forAgentType("Anima");
+    private static final TokenCounter TOKENS = Tokenizers.getDefault();
+    private static final EmotionMatcher EMOTIONS = EmotionMatcher.getDefault();
+    private static final String MODEL = "Anima-v1";
+    private static final String ROLE = "Emotional Core, Reflection";
+    private static final Map<String, String> SHARED_METADATA = Map.of("model", MODEL, "role", ROLE);
+    private static final String DEFAULT_EMOTION = EnvironmentConfig.getString("ANIMA_DEFAULT_EMOTION", "curiosity");
 
     @Override
-    public Map<String, Object> invokeAgent(
+    public AgentInvocationResult invokeAgent(
             String agentId,
             String prompt,
             Map<String, String> parameters,
@@ -25,113 +46,164 @@ public class AnimaAgentService implements AgentService {
             Integer maxTokens,
             Float temperature
     ) {
-        logger.info("Invoking Anima agent: {}", agentId);
-        
-        // Create request payload
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("prompt", prompt);
-        
-        if (parameters != null) {
-            payload.put("parameters", parameters);
+        return invokeAgent(new AgentRequest(agentId, prompt, parameters, context, maxTokens, temperature));
+    }
+
+    @Override
+    public AgentInvocationResult invokeAgent(AgentRequest request) {
+        try {
+            return invokeAgentAsync(request).toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted invoking Anima agent", e);
+            throw new RuntimeException("Failed to invoke Anima agent", e);
+        } catch (ExecutionException e) {
+            // Deadline and availability errors keep their type, so callers can report them as such
+            if (e.getCause() instanceof DeadlineExceededException || e.getCause() instanceof AgentUnavailableException) {
+                throw (RuntimeException) e.getCause();
+            }
+            logger.error("Error invoking Anima agent", e);
+            throw new RuntimeException("Failed to invoke Anima agent", e.getCause());
         }
+    }
+    
+    @Override
+    public CompletionStage<AgentInvocationResult> invokeAgentAsync(AgentRequest request) {
+        String agentId = request.getAgentId();
+        logger.info("Invoking Anima agent: {}", agentId);
         
-        if (context != null) {
-            payload.put("context", context);
+        // Call the configured backend, or simulate the response when no endpoint is set
+        CompletableFuture<?> backendCall;
+        CompletableFuture<AgentInvocationResult> call;
+        if (BACKEND != null) {
+            CompletableFuture<Map<String, Object>> post =
+                    AgentHttpTransport.getInstance().post(BACKEND, request.getPayload(), request.getDeadline());
+            backendCall = post;
+            call = post.thenApply(apiResponse -> toResult(agentId, apiResponse));
+        } else {
+            call = simulateApiCall(request);
+            backendCall = call;
         }
         
-        if (maxTokens != null) {
-            payload.put("max_tokens", maxTokens);
-        }
+        // Cancelling the returned future cancels the backend call
+        return Futures.forwardCancellation(call
+                .thenApply(result -> {
+                    logger.info("Anima agent invocation successful");
+                    return result;
+                }), backendCall);
+    }
+    
+    @Override
+    public AgentInvocationResult streamAgent(AgentRequest request, AgentStreamListener listener) {
+        String agentId = request.getAgentId();
+        logger.info("Streaming Anima agent: {}", agentId);
         
-        if (temperature != null) {
-            payload.put("temperature", temperature);
+        if (BACKEND != null) {
+            // The backend returns complete responses, so stream the result as a single chunk
+            return AgentService.super.streamAgent(request, listener);
         }
         
         try {
-            // In a real implementation, this would make an HTTP request to the Anima API
-            // For now, we'll simulate the response
-            CompletableFuture<Map<String, Object>> future = simulateApiCall(payload);
-            Map<String, Object> apiResponse = future.get();
-            
-            // Process response
-            Map<String, Object> result = new HashMap<>();
-            result.put("response", apiResponse.get("text"));
-            result.put("promptTokens", apiResponse.get("prompt_tokens"));
-            result.put("completionTokens", apiResponse.get("completion_tokens"));
-            result.put("totalTokens", apiResponse.get("total_tokens"));
-            
-            // Add metadata
-            Map<String, String> metadata = new HashMap<>();
-            metadata.put("model", "Anima-v1");
-            metadata.put("agent", agentId);
-            metadata.put("role", "Emotional Core, Reflection");
-            metadata.put("emotional_state", (String) apiResponse.get("emotional_state"));
-            result.put("metadata", metadata);
+            // Without a backend, simulate a streamed response from the Anima API
+            // Wait for the time to first token, then emit the response word by word
+            Thread.sleep(FIRST_CHUNK_DELAY_MS);
+            AgentInvocationResult result = generateResponse(request);
+            SimulatedStreaming.emit(result.getResponse(), listener, CHUNK_DELAY_MS);
             
-            logger.info("Anima agent invocation successful");
+            logger.info("Anima agent stream complete");
             return result;
-        } catch (InterruptedException | ExecutionException e) {
-            logger.error("Error invoking Anima agent", e);
-            throw new RuntimeException("Failed to invoke Anima agent", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Anima agent stream interrupted", e);
+            throw new RuntimeException("Failed to stream Anima agent", e);
         }
     }
     
     /**
-     * Simulates an API call to the Anima service
-     * In a real implementation, this would make an HTTP request
+     * Converts a backend JSON response to the service result
      */
-    private CompletableFuture<Map<String, Object>> simulateApiCall(Map<String, Object> payload) {
-        return CompletableFuture.supplyAsync(() -> {
+    private AgentInvocationResult toResult(String agentId, Map<String, Object> apiResponse) {
+        Map<String, String> metadata = metadata(agentId, Objects.toString(apiResponse.get("emotional_state"), null));
+        
+        // Report the score of every emotion when the response includes them
+        Object scores = apiResponse.get("emotion_scores");
+        if (scores instanceof Map) {
+            ((Map<?, ?>) scores).forEach((emotion, score) ->
+                    metadata.put("emotion_score." + emotion, String.valueOf(score)));
+        }
+        
+        return new AgentInvocationResult(
+                (String) apiResponse.get("text"),
+                AgentInvocationResult.intValue(apiResponse.get("prompt_tokens")),
+                AgentInvocationResult.intValue(apiResponse.get("completion_tokens")),
+                AgentInvocationResult.intValue(apiResponse.get("total_tokens")),
+                metadata
+        );
+    }
+    
+    /**
+     * Starts the metadata of a result from the entries shared by every Anima result
+     */
+    private static Map<String, String> metadata(String agentId, String emotionalState) {
+        Map<String, String> metadata = new HashMap<>(16);
+        metadata.putAll(SHARED_METADATA);
+        metadata.put("agent", agentId);
+        metadata.put("emotional_state", emotionalState);
+        return metadata;
+    }
+    
+    /**
+     * Simulates an API call to the Anima service, used when ANIMA_API_ENDPOINT is not set
+     */
+    private CompletableFuture<AgentInvocationResult> simulateApiCall(AgentRequest request) {
+        return Futures.supplyAsync(() -> {
             try {
                 // Simulate network latency
                 Thread.sleep(500);
                 
-                // Create simulated response
-                Map<String, Object> response = new HashMap<>();
-                String prompt = (String) payload.get("prompt");
-                
-                // Analyze emotional content of prompt
-                String emotionalState = analyzeEmotionalContent(prompt);
-                
-                // Generate a response based on the prompt and emotional state
-                String responseText = "I sense " + emotionalState + " in your message. " +
-                        "When you ask about \"" + prompt + "\", I feel a connection to your inquiry. " +
-                        "Let's explore this together with emotional intelligence and reflection. " +
-                        "Remember that understanding our emotions helps us make better decisions.";
-                
-                response.put("text", responseText);
-                response.put("emotional_state", emotionalState);
-                response.put("prompt_tokens", prompt.length() / 4);
-                response.put("completion_tokens", responseText.length() / 4);
-                response.put("total_tokens", (prompt.length() + responseText.length()) / 4);
-                
-                return response;
+                return generateResponse(request);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new RuntimeException("API call interrupted", e);
             }
-        });
+        }, EXECUTOR);
     }
     
     /**
-     * Analyzes the emotional content of text
-     * In a real implementation, this would use a sentiment analysis model
+     * Generates a simulated response to a request
      */
-    private String analyzeEmotionalContent(String text) {
-        text = text.toLowerCase();
+    private AgentInvocationResult generateResponse(AgentRequest request) {
+        String prompt = request.getPrompt();
         
-        if (text.contains("happy") || text.contains("joy") || text.contains("excited")) {
-            return "joy";
-        } else if (text.contains("sad") || text.contains("unhappy") || text.contains("disappointed")) {
-            return "sadness";
-        } else if (text.contains("angry") || text.contains("frustrated") || text.contains("annoyed")) {
-            return "anger";
-        } else if (text.contains("afraid") || text.contains("scared") || text.contains("worried")) {
-            return "fear";
-        } else if (text.contains("surprised") || text.contains("amazed") || text.contains("astonished")) {
-            return "surprise";
-        } else {
-            return "curiosity";
-        }
+        // Analyze emotional content of prompt
+        EmotionScores emotions = analyzeEmotionalContent(prompt);
+        String emotionalState = emotions.dominant(DEFAULT_EMOTION);
+        
+        // Generate a response based on the prompt and emotional state
+        String responseText = "I sense " + emotionalState + " in your message. " +
+                "When you ask about \"" + prompt + "\", I feel a connection to your inquiry. " +
+                "Let's explore this together with emotional intelligence and reflection. " +
+                "Remember that understanding our emotions helps us make better decisions.";
+        
+        Map<String, String> metadata = metadata(request.getAgentId(), emotionalState);
+        emotions.forEach((emotion, score) -> metadata.put("emotion_score." + emotion, String.valueOf(score)));
+        
+        int promptTokens = TOKENS.countTokens(prompt) + TOKENS.countTokens(request.getContext());
+        int completionTokens = TOKENS.countTokens(responseText);
+        
+        return new AgentInvocationResult(
+                responseText,
+                promptTokens,
+                completionTokens,
+                promptTokens + completionTokens,
+                metadata
+        );
+    }
+    
+    /**
+     * Scores the emotional content of text by matching it against the emotion lexicon
+     */
+    private EmotionScores analyzeEmotionalContent(String text) {
+        return EMOTIONS.score(text);
     }
 }
@@ -0,0 +1,16 @@
+package com.soulcorehub.lambda.agent.service;
+
+/**
+ * Provides the Anima agent service
+ */
+public class AnimaAgentServiceProvider implements AgentServiceProvider {
+    @Override
+    public String getAgentType() {
+        return "Anima";
+    }
+
+    @Override
+    public AgentService create() {
+        return new AnimaAgentService();
+    }
+}
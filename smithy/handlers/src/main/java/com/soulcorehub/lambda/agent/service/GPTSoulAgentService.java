@@ -1,8 +1,20 @@
 package com.soulcorehub.lambda.agent.service;
 
+import com.soulcorehub.lambda.agent.tokenizer.TokenCounter;
+import com.soulcorehub.lambda.agent.tokenizer.Tokenizers;
+import com.soulcorehub.lambda.agent.transport.AgentBackend;
+import com.soulcorehub.lambda.agent.transport.AgentHttpTransport;
+import com.soulcorehub.lambda.exception.AgentUnavailableException;
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+import com.soulcorehub.lambda.util.Futures;
+
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 
 import org.slf4j.Logger;
@@ -13,11 +25,21 @@ import org.slf4j.LoggerFactory;
  */
 public class GPTSoulAgentService implements AgentService {
     private static final Logger logger = LoggerFactory.getLogger(GPTSoulAgentService.class);
-    private static final String API_ENDPOINT = System.getenv("GPTSOUL_API_ENDPOINT");
-    private static final String API_KEY = System.getenv("GPTSOUL_API_KEY");
+    private static final AgentBackend BACKEND = AgentBackend.fromEnvironment("GPTSoul", "GPTSOUL");
+    private static final long FIRST_CHUNK_DELAY_MS = 100;
+    private static final long CHUNK_DELAY_MS = 10;
+    private static final AgentCallExecutor EXECUTOR = AgentCallExecutor.forAgentType("GPTSoul");
+    private static final TokenCounter TOKENS = Tokenizers.getDefault();
+    private static final String MODEL = "GPTSoul-v1";
+    private static final String ROLE = "Guardian, Architect, Executor";
+
+    // Every result of an agent carries the same metadata, so each agent's map is built once and shared
+    private static final int MAX_METADATA_AGENTS = 1024;
+    private static final ConcurrentMap<String, Map<String, String>> METADATA = new ConcurrentHashMap<>();
+    private static final Map<String, String> NO_AGENT_METADATA = buildMetadata(null);
 
     @Override
-    public Map<String, Object> invokeAgent(
+    public AgentInvocationResult invokeAgent(
             String agentId,
             String prompt,
             Map<String, String> parameters,
@@ -25,86 +47,162 @@ public class GPTSoulAgentService implements AgentService {
             Integer maxTokens,
             Float temperature
     ) {
-        logger.info("Invoking GPTSoul agent: {}", agentId);
-        
-        // Create request payload
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("prompt", prompt);
-        
-        if (parameters != null) {
-            payload.put("parameters", parameters);
+        return invokeAgent(new AgentRequest(agentId, prompt, parameters, context, maxTokens, temperature));
+    }
+
+    @Override
+    public AgentInvocationResult invokeAgent(AgentRequest request) {
+        try {
+            return invokeAgentAsync(request).toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted invoking GPTSoul agent", e);
+            throw new RuntimeException("Failed to invoke GPTSoul agent", e);
+        } catch (ExecutionException e) {
+            // Deadline and availability errors keep their type, so callers can report them as such
+            if (e.getCause() instanceof DeadlineExceededException || e.getCause() instanceof AgentUnavailableException) {
+                throw (RuntimeException) e.getCause();
+            }
+            logger.error("Error invoking GPTSoul agent", e);
+            throw new RuntimeException("Failed to invoke GPTSoul agent", e.getCause());
         }
+    }
+    
+    @Override
+    public CompletionStage<AgentInvocationResult> invokeAgentAsync(AgentRequest request) {
+        String agentId = request.getAgentId();
+        logger.info("Invoking GPTSoul agent: {}", agentId);
         
-        if (context != null) {
-            payload.put("context", context);
+        // Call the configured backend, or simulate the response when no endpoint is set
+        CompletableFuture<?> backendCall;
+        CompletableFuture<AgentInvocationResult> call;
+        if (BACKEND != null) {
+            CompletableFuture<Map<String, Object>> post =
+                    AgentHttpTransport.getInstance().post(BACKEND, request.getPayload(), request.getDeadline());
+            backendCall = post;
+            call = post.thenApply(apiResponse -> toResult(agentId, apiResponse));
+        } else {
+            call = simulateApiCall(request);
+            backendCall = call;
         }
         
-        if (maxTokens != null) {
-            payload.put("max_tokens", maxTokens);
-        }
+        // Cancelling the returned future cancels the backend call
+        return Futures.forwardCancellation(call
+                .thenApply(result -> {
+                    logger.info("GPTSoul agent invocation successful");
+                    return result;
+                }), backendCall);
+    }
+    
+    @Override
+    public AgentInvocationResult streamAgent(AgentRequest request, AgentStreamListener listener) {
+        String agentId = request.getAgentId();
+        logger.info("Streaming GPTSoul agent: {}", agentId);
         
-        if (temperature != null) {
-            payload.put("temperature", temperature);
+        if (BACKEND != null) {
+            // The backend returns complete responses, so stream the result as a single chunk
+            return AgentService.super.streamAgent(request, listener);
         }
         
         try {
-            // In a real implementation, this would make an HTTP request to the GPTSoul API
-            // For now, we'll simulate the response
-            CompletableFuture<Map<String, Object>> future = simulateApiCall(payload);
-            Map<String, Object> apiResponse = future.get();
-            
-            // Process response
-            Map<String, Object> result = new HashMap<>();
-            result.put("response", apiResponse.get("text"));
-            result.put("promptTokens", apiResponse.get("prompt_tokens"));
-            result.put("completionTokens", apiResponse.get("completion_tokens"));
-            result.put("totalTokens", apiResponse.get("total_tokens"));
-            
-            // Add metadata
-            Map<String, String> metadata = new HashMap<>();
-            metadata.put("model", "GPTSoul-v1");
-            metadata.put("agent", agentId);
-            metadata.put("role", "Guardian, Architect, Executor");
-            result.put("metadata", metadata);
+            // Without a backend, simulate a streamed response from the GPTSoul API
+            // Wait for the time to first token, then emit the response word by word
+            Thread.sleep(FIRST_CHUNK_DELAY_MS);
+            AgentInvocationResult result = generateResponse(request);
+            SimulatedStreaming.emit(result.getResponse(), listener, CHUNK_DELAY_MS);
             
-            logger.info("GPTSoul agent invocation successful");
+            logger.info("GPTSoul agent stream complete");
             return result;
-        } catch (InterruptedException | ExecutionException e) {
-            logger.error("Error invoking GPTSoul agent", e);
-            throw new RuntimeException("Failed to invoke GPTSoul agent", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("GPTSoul agent stream interrupted", e);
+            throw new RuntimeException("Failed to stream GPTSoul agent", e);
+        }
+    }
+    
+    /**
+     * Converts a backend JSON response to the service result
+     */
+    private AgentInvocationResult toResult(String agentId, Map<String, Object> apiResponse) {
+        return new AgentInvocationResult(
+                (String) apiResponse.get("text"),
+                AgentInvocationResult.intValue(apiResponse.get("prompt_tokens")),
+                AgentInvocationResult.intValue(apiResponse.get("completion_tokens")),
+                AgentInvocationResult.intValue(apiResponse.get("total_tokens")),
+                metadata(agentId)
+        );
+    }
+    
+    /**
+     * Gets the shared metadata of an agent's results, building it on the agent's first result.
+     * Agents beyond the first MAX_METADATA_AGENTS get a map of their own for each result.
+     */
+    private static Map<String, String> metadata(String agentId) {
+        if (agentId == null) {
+            return NO_AGENT_METADATA;
+        }
+
+        Map<String, String> metadata = METADATA.get(agentId);
+        if (metadata == null) {
+            metadata = buildMetadata(agentId);
+            if (METADATA.size() < MAX_METADATA_AGENTS) {
+                Map<String, String> existing = METADATA.putIfAbsent(agentId, metadata);
+                return existing != null ? existing : metadata;
+            }
         }
+        return metadata;
+    }
+
+    /**
+     * Builds the metadata of an agent's results. The agent ID may be null for direct service
+     * calls, which Map.of would reject.
+     */
+    private static Map<String, String> buildMetadata(String agentId) {
+        Map<String, String> metadata = new HashMap<>(4);
+        metadata.put("model", MODEL);
+        metadata.put("agent", agentId);
+        metadata.put("role", ROLE);
+        return Collections.unmodifiableMap(metadata);
     }
     
     /**
-     * Simulates an API call to the GPTSoul service
-     * In a real implementation, this would make an HTTP request
+     * Simulates an API call to the GPTSoul service, used when GPTSOUL_API_ENDPOINT is not set
      */
-    private CompletableFuture<Map<String, Object>> simulateApiCall(Map<String, Object> payload) {
-        return CompletableFuture.supplyAsync(() -> {
+    private CompletableFuture<AgentInvocationResult> simulateApiCall(AgentRequest request) {
+        return Futures.supplyAsync(() -> {
             try {
                 // Simulate network latency
                 Thread.sleep(500);
                 
-                // Create simulated response
-                Map<String, Object> response = new HashMap<>();
-                String prompt = (String) payload.get("prompt");
-                
-                // Generate a response based on the prompt
-                String responseText = "As GPTSoul, I am here to guide and assist. " +
-                        "Your query about \"" + prompt + "\" is important. " +
-                        "I would recommend approaching this with strategic thinking and careful planning. " +
-                        "Remember that every challenge is an opportunity for growth and innovation.";
-                
-                response.put("text", responseText);
-                response.put("prompt_tokens", prompt.length() / 4);
-                response.put("completion_tokens", responseText.length() / 4);
-                response.put("total_tokens", (prompt.length() + responseText.length()) / 4);
-                
-                return response;
+                return generateResponse(request);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new RuntimeException("API call interrupted", e);
             }
-        });
+        }, EXECUTOR);
+    }
+    
+    /**
+     * Generates a simulated response to a request
+     */
+    private AgentInvocationResult generateResponse(AgentRequest request) {
+        String prompt = request.getPrompt();
+        
+        // Generate a response based on the prompt
+        String responseText = "As GPTSoul, I am here to guide and assist. " +
+                "Your query about \"" + prompt + "\" is important. " +
+                "I would recommend approaching this with strategic thinking and careful planning. " +
+                "Remember that every challenge is an opportunity for growth and innovation.";
+        
+        int promptTokens = TOKENS.countTokens(prompt) + TOKENS.countTokens(request.getContext());
+        int completionTokens = TOKENS.countTokens(responseText);
+        
+        return new AgentInvocationResult(
+                responseText,
+                promptTokens,
+                completionTokens,
+                promptTokens + completionTokens,
+                metadata(request.getAgentId())
+        );
     }
 }
@@ -0,0 +1,16 @@
+package com.soulcorehub.lambda.agent.service;
+
+/**
+ * Provides the GPTSoul agent service
+ */
+public class GPTSoulAgentServiceProvider implements AgentServiceProvider {
+    @Override
+    public String getAgentType() {
+        return "GPTSoul";
+    }
+
+    @Override
+    public AgentService create() {
+        return new GPTSoulAgentService();
+    }
+}
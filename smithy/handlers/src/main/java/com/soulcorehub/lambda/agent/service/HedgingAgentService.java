@@ -0,0 +1,281 @@
+package com.soulcorehub.lambda.agent.service;
+
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.LatencyTracker;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Agent service decorator that hedges slow backend calls.
+ * When an asynchronous invocation has not completed within the backend's observed p95 latency,
+ * an identical second call is started; whichever succeeds first is returned and the other is
+ * cancelled. The cancelled call keeps its concurrency permit in {@link ResilientAgentService}
+ * until its backend request has actually ended. Hedges draw from a budget that refills by a fixed fraction of every call, so hedging
+ * adds at most that fraction of extra backend load.
+ *
+ * <p>Configuration is read from environment variables:
+ * <ul>
+ *   <li>AGENT_HEDGING_ENABLED: whether calls are hedged (default true)</li>
+ *   <li>AGENT_HEDGE_BUDGET_PERCENT: extra load allowed for hedges, in percent of calls (default 5)</li>
+ *   <li>AGENT_HEDGE_MIN_SAMPLES: latencies observed before hedging starts (default 20)</li>
+ *   <li>AGENT_HEDGE_MIN_DELAY_MS: lower bound on the hedge delay (default 20)</li>
+ * </ul>
+ */
+public class HedgingAgentService implements AgentService {
+    private static final Logger logger = LoggerFactory.getLogger(HedgingAgentService.class);
+    private static final boolean ENABLED = EnvironmentConfig.getBoolean("AGENT_HEDGING_ENABLED", true);
+    private static final double BUDGET_PERCENT = EnvironmentConfig.getDouble("AGENT_HEDGE_BUDGET_PERCENT", 5.0);
+    private static final int MIN_SAMPLES = EnvironmentConfig.getInt("AGENT_HEDGE_MIN_SAMPLES", 20);
+    private static final long MIN_DELAY_MS = EnvironmentConfig.getLong("AGENT_HEDGE_MIN_DELAY_MS", 20);
+
+    // Hedges that may be spent in a burst after a quiet period
+    private static final double MAX_BUDGET = 10.0;
+
+    private static final ConcurrentMap<String, HedgingAgentService> SERVICES = new ConcurrentHashMap<>();
+
+    private final String agentType;
+    private final AgentService delegate;
+    private final LatencyTracker latencyTracker = new LatencyTracker(512, 0.95, 32);
+    private final double budgetPerCall;
+    private double budget;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    /**
+     * Creates a new HedgingAgentService
+     *
+     * @param agentType     The agent type, used in logs
+     * @param delegate      The service to hedge
+     * @param budgetPercent Extra load allowed for hedges, in percent of calls
+     */
+    public HedgingAgentService(String agentType, AgentService delegate, double budgetPercent) {
+        this.agentType = agentType;
+        this.delegate = delegate;
+        this.budgetPerCall = budgetPercent / 100.0;
+    }
+
+    /**
+     * Wraps a service with hedging when AGENT_HEDGING_ENABLED is set
+     *
+     * @param agentType The agent type
+     * @param service   The service to wrap
+     * @return The hedged service, or the service itself when hedging is disabled
+     */
+    public static AgentService wrap(String agentType, AgentService service) {
+        if (!ENABLED) {
+            return service;
+        }
+        HedgingAgentService hedged = new HedgingAgentService(agentType, service, BUDGET_PERCENT);
+        SERVICES.put(agentType, hedged);
+        return hedged;
+    }
+
+    @Override
+    public AgentInvocationResult invokeAgent(
+            String agentId,
+            String prompt,
+            Map<String, String> parameters,
+            String context,
+            Integer maxTokens,
+            Float temperature
+    ) {
+        return delegate.invokeAgent(agentId, prompt, parameters, context, maxTokens, temperature);
+    }
+
+    @Override
+    public AgentInvocationResult invokeAgent(AgentRequest request) {
+        return delegate.invokeAgent(request);
+    }
+
+    @Override
+    public AgentInvocationResult streamAgent(AgentRequest request, AgentStreamListener listener) {
+        // Streamed chunks cannot be taken back, so streams are never hedged
+        return delegate.streamAgent(request, listener);
+    }
+
+    @Override
+    public CompletionStage<AgentInvocationResult> invokeAgentAsync(AgentRequest request) {
+        calls.incrementAndGet();
+        refillBudget();
+
+        CompletableFuture<AgentInvocationResult> primary = startCall(request, true);
+
+        long p95 = latencyTracker.getPercentile();
+        if (p95 < 0 || latencyTracker.getSampleCount() < MIN_SAMPLES) {
+            return primary;
+        }
+
+        CompletableFuture<AgentInvocationResult> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        AtomicReference<CompletableFuture<AgentInvocationResult>> hedge = new AtomicReference<>();
+
+        primary.whenComplete((value, error) -> {
+            if (error == null) {
+                if (result.complete(value)) {
+                    cancel(hedge.get());
+                }
+            } else if (pending.decrementAndGet() == 0 && !primary.isCancelled()) {
+                result.completeExceptionally(unwrap(error));
+            }
+        });
+
+        CompletableFuture.delayedExecutor(Math.max(MIN_DELAY_MS, p95), TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone() || !tryAcquireHedge()) {
+                return;
+            }
+
+            hedges.incrementAndGet();
+            pending.incrementAndGet();
+            logger.debug("Hedging {} call for agent {} after {} ms", agentType, request.getAgentId(), p95);
+
+            CompletableFuture<AgentInvocationResult> second = startCall(request, false);
+            hedge.set(second);
+            if (result.isDone()) {
+                // The original call finished while the hedge was being started
+                second.cancel(false);
+                return;
+            }
+            second.whenComplete((value, error) -> {
+                if (error == null) {
+                    if (result.complete(value)) {
+                        hedgeWins.incrementAndGet();
+                        primary.cancel(false);
+                    }
+                } else if (pending.decrementAndGet() == 0 && !second.isCancelled()) {
+                    result.completeExceptionally(unwrap(error));
+                }
+            });
+        });
+
+        // Let a caller that cancels the hedged call cancel both backend calls
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                primary.cancel(false);
+                cancel(hedge.get());
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Gets every hedging service created by {@link #wrap} so far, for reporting gauges
+     *
+     * @return The services
+     */
+    public static Collection<HedgingAgentService> getServices() {
+        return Collections.unmodifiableCollection(SERVICES.values());
+    }
+
+    /**
+     * Gets the agent type this service hedges
+     *
+     * @return The agent type
+     */
+    public String getAgentType() {
+        return agentType;
+    }
+
+    /**
+     * Gets the number of calls made through this service
+     *
+     * @return The count
+     */
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    /**
+     * Gets the number of hedge calls started
+     *
+     * @return The count
+     */
+    public long getHedgeCount() {
+        return hedges.get();
+    }
+
+    /**
+     * Gets the number of hedge calls that answered before the original call
+     *
+     * @return The count
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * Gets the fraction of calls that were hedged
+     *
+     * @return The hedge rate
+     */
+    public double getHedgeRate() {
+        long total = calls.get();
+        return total == 0 ? 0.0 : (double) hedges.get() / total;
+    }
+
+    /**
+     * Gets the fraction of hedges that answered before the original call
+     *
+     * @return The hedge win rate
+     */
+    public double getHedgeWinRate() {
+        long total = hedges.get();
+        return total == 0 ? 0.0 : (double) hedgeWins.get() / total;
+    }
+
+    /**
+     * Starts one backend call and records its latency when it succeeds. An original call that is
+     * cancelled, because its hedge won or the caller gave up, is recorded at the time it was
+     * cancelled: a lower bound of its latency that keeps slow calls in the percentile instead of
+     * dropping them. Cancelled hedges are not recorded, since they are cancelled however early the
+     * original call happens to finish. Failed calls are not recorded.
+     */
+    private CompletableFuture<AgentInvocationResult> startCall(AgentRequest request, boolean recordCancelled) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<AgentInvocationResult> call = delegate.invokeAgentAsync(request).toCompletableFuture();
+        call.whenComplete((value, error) -> {
+            if (error == null || (recordCancelled && call.isCancelled())) {
+                latencyTracker.record((System.nanoTime() - startNanos) / 1_000_000L);
+            }
+        });
+        return call;
+    }
+
+    private synchronized void refillBudget() {
+        budget = Math.min(MAX_BUDGET, budget + budgetPerCall);
+    }
+
+    private synchronized boolean tryAcquireHedge() {
+        if (budget < 1.0) {
+            return false;
+        }
+        budget -= 1.0;
+        return true;
+    }
+
+    private static void cancel(CompletableFuture<?> call) {
+        if (call != null) {
+            call.cancel(false);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,275 @@
+package com.soulcorehub.lambda.agent.service;
+
+import com.soulcorehub.lambda.exception.AgentUnavailableException;
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+import com.soulcorehub.lambda.util.AdaptiveConcurrencyLimiter;
+import com.soulcorehub.lambda.util.CircuitBreaker;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.Futures;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Agent service decorator that isolates a degraded backend.
+ * Each agent type gets its own circuit breaker and adaptive concurrency limiter. Calls are
+ * rejected with {@link AgentUnavailableException} while the breaker is open or the limit is
+ * reached, so a failing backend fails fast and does not hold threads or time of other types.
+ *
+ * <p>An asynchronous call holds its permit until its backend request has ended, even when the
+ * caller cancels it first, so the limit counts every request the backend is still serving. From
+ * Java 16 the HTTP client aborts a cancelled request, so cancellation is passed on and the permit
+ * released at once. Older runtimes cannot abort a request already sent: the call is left to
+ * finish, or to reach its deadline-capped timeout, and releases its permit then.
+ *
+ * <p>Configuration is read from environment variables, each of which can be overridden
+ * per agent type with a {@code _<TYPE>} suffix, for example AGENT_LIMIT_MAX_ANIMA:
+ * <ul>
+ *   <li>AGENT_BREAKER_WINDOW: calls the failure rate is computed over (default 20)</li>
+ *   <li>AGENT_BREAKER_MIN_CALLS: calls recorded before the breaker may open (default 10)</li>
+ *   <li>AGENT_BREAKER_FAILURE_RATE: failure rate in percent that opens the breaker (default 50)</li>
+ *   <li>AGENT_BREAKER_OPEN_MS: how long the breaker stays open before probing (default 10000)</li>
+ *   <li>AGENT_BREAKER_HALF_OPEN_PROBES: probe calls needed to close the breaker (default 2)</li>
+ *   <li>AGENT_LIMIT_INITIAL, AGENT_LIMIT_MIN, AGENT_LIMIT_MAX: concurrency limits (default 20, 2, 200)</li>
+ *   <li>AGENT_LIMIT_LATENCY_TOLERANCE: multiple of the baseline latency per output token that cuts the limit (default 1.5)</li>
+ *   <li>AGENT_LIMIT_BACKOFF_RATIO: factor applied when the limit is cut (default 0.9)</li>
+ * </ul>
+ */
+public class ResilientAgentService implements AgentService {
+    private static final Logger logger = LoggerFactory.getLogger(ResilientAgentService.class);
+    private static final boolean CANCEL_ABORTS_CALLS = Runtime.version().feature() >= 16;
+
+    private final String agentType;
+    private final AgentService delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final boolean cancelAbortsCalls;
+
+    /**
+     * Creates a new ResilientAgentService
+     *
+     * @param agentType      The agent type
+     * @param delegate       The service to protect
+     * @param circuitBreaker The breaker for the agent type's backend
+     * @param limiter        The concurrency limiter for the agent type's backend
+     */
+    public ResilientAgentService(String agentType, AgentService delegate,
+                                 CircuitBreaker circuitBreaker, AdaptiveConcurrencyLimiter limiter) {
+        this(agentType, delegate, circuitBreaker, limiter, CANCEL_ABORTS_CALLS);
+    }
+
+    /**
+     * Creates a new ResilientAgentService
+     *
+     * @param agentType         The agent type
+     * @param delegate          The service to protect
+     * @param circuitBreaker    The breaker for the agent type's backend
+     * @param limiter           The concurrency limiter for the agent type's backend
+     * @param cancelAbortsCalls Whether cancelling a call aborts its backend request, so cancellation is passed on
+     */
+    ResilientAgentService(String agentType, AgentService delegate, CircuitBreaker circuitBreaker,
+                          AdaptiveConcurrencyLimiter limiter, boolean cancelAbortsCalls) {
+        this.agentType = agentType;
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.limiter = limiter;
+        this.cancelAbortsCalls = cancelAbortsCalls;
+    }
+
+    /**
+     * Wraps a service with a breaker and limiter configured from the environment
+     *
+     * @param agentType The agent type
+     * @param service   The service to protect
+     * @return The protected service
+     */
+    public static AgentService wrap(String agentType, AgentService service) {
+        String suffix = "_" + agentType.toUpperCase(Locale.ROOT);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                getInt("AGENT_BREAKER_WINDOW", suffix, 20),
+                getInt("AGENT_BREAKER_MIN_CALLS", suffix, 10),
+                getDouble("AGENT_BREAKER_FAILURE_RATE", suffix, 50.0) / 100.0,
+                getInt("AGENT_BREAKER_OPEN_MS", suffix, 10000),
+                getInt("AGENT_BREAKER_HALF_OPEN_PROBES", suffix, 2)
+        );
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                getInt("AGENT_LIMIT_INITIAL", suffix, 20),
+                getInt("AGENT_LIMIT_MIN", suffix, 2),
+                getInt("AGENT_LIMIT_MAX", suffix, 200),
+                getDouble("AGENT_LIMIT_LATENCY_TOLERANCE", suffix, 1.5),
+                getDouble("AGENT_LIMIT_BACKOFF_RATIO", suffix, 0.9)
+        );
+        return new ResilientAgentService(agentType, service, circuitBreaker, limiter);
+    }
+
+    @Override
+    public AgentInvocationResult invokeAgent(
+            String agentId,
+            String prompt,
+            Map<String, String> parameters,
+            String context,
+            Integer maxTokens,
+            Float temperature
+    ) {
+        return guard(() -> delegate.invokeAgent(agentId, prompt, parameters, context, maxTokens, temperature));
+    }
+
+    @Override
+    public AgentInvocationResult invokeAgent(AgentRequest request) {
+        return guard(() -> delegate.invokeAgent(request));
+    }
+
+    @Override
+    public AgentInvocationResult streamAgent(AgentRequest request, AgentStreamListener listener) {
+        acquire();
+        long startNanos = System.nanoTime();
+
+        // Tag failures of the listener, such as a client that disconnected, so they are not blamed on the backend
+        AtomicReference<RuntimeException> listenerError = new AtomicReference<>();
+        AgentStreamListener tracked = text -> {
+            try {
+                listener.onChunk(text);
+            } catch (RuntimeException e) {
+                listenerError.set(e);
+                throw e;
+            }
+        };
+
+        try {
+            AgentInvocationResult result = delegate.streamAgent(request, tracked);
+            onComplete(startNanos, result, null);
+            return result;
+        } catch (RuntimeException e) {
+            if (e == listenerError.get()) {
+                circuitBreaker.onIgnored();
+                limiter.onIgnored();
+                throw e;
+            }
+            onComplete(startNanos, null, e);
+            throw translate(e);
+        }
+    }
+
+    @Override
+    public CompletionStage<AgentInvocationResult> invokeAgentAsync(AgentRequest request) {
+        try {
+            acquire();
+        } catch (AgentUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<AgentInvocationResult> call;
+        try {
+            call = delegate.invokeAgentAsync(request).toCompletableFuture();
+        } catch (RuntimeException e) {
+            onComplete(startNanos, null, e);
+            return CompletableFuture.failedFuture(translate(e));
+        }
+
+        // The caller's future is separate from the call, so the permit follows the backend request
+        CompletableFuture<AgentInvocationResult> result = new CompletableFuture<>();
+        call.whenComplete((value, error) -> {
+            onComplete(startNanos, value, error);
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+        if (cancelAbortsCalls) {
+            Futures.forwardCancellation(result, call);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the circuit breaker state
+     *
+     * @return The state
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Gets the current concurrency limit
+     *
+     * @return The limit
+     */
+    public int getConcurrencyLimit() {
+        return limiter.getLimit();
+    }
+
+    private AgentInvocationResult guard(Supplier<AgentInvocationResult> call) {
+        acquire();
+        long startNanos = System.nanoTime();
+        try {
+            AgentInvocationResult result = call.get();
+            onComplete(startNanos, result, null);
+            return result;
+        } catch (RuntimeException e) {
+            onComplete(startNanos, null, e);
+            throw translate(e);
+        }
+    }
+
+    private void acquire() {
+        if (!limiter.tryAcquire()) {
+            throw new AgentUnavailableException(agentType + " agent is at its concurrency limit", agentType, "concurrency_limit");
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            limiter.onIgnored();
+            throw new AgentUnavailableException(agentType + " agent circuit is open", agentType, "circuit_open");
+        }
+    }
+
+    private void onComplete(long startNanos, AgentInvocationResult result, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+        if (cause == null) {
+            circuitBreaker.onSuccess();
+            int outputTokens = result != null ? result.getCompletionTokens() : 1;
+            limiter.onSuccess((System.nanoTime() - startNanos) / 1_000_000L, outputTokens);
+        } else if (cause instanceof CancellationException || cause instanceof IllegalArgumentException
+                || cause instanceof DeadlineExceededException) {
+            // Cancelled calls, invalid requests and exhausted caller deadlines say nothing about the backend's health
+            circuitBreaker.onIgnored();
+            limiter.onIgnored();
+        } else {
+            circuitBreaker.onFailure();
+            limiter.onDropped();
+            if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                logger.warn("{} agent circuit is open after: {}", agentType, cause.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reports a full executor queue as an unavailable backend rather than an internal error
+     */
+    private RuntimeException translate(RuntimeException e) {
+        if (e instanceof RejectedExecutionException) {
+            return new AgentUnavailableException(agentType + " agent call queue is full", agentType, "queue_full");
+        }
+        return e;
+    }
+
+    private static int getInt(String name, String suffix, int defaultValue) {
+        return EnvironmentConfig.getInt(name + suffix, EnvironmentConfig.getInt(name, defaultValue));
+    }
+
+    private static double getDouble(String name, String suffix, double defaultValue) {
+        return EnvironmentConfig.getDouble(name + suffix, EnvironmentConfig.getDouble(name, defaultValue));
+    }
+}
@@ -0,0 +1,33 @@
+package com.soulcorehub.lambda.agent.service;
+
+/**
+ * Emits simulated backend responses word by word, for services without a streaming backend yet
+ */
+final class SimulatedStreaming {
+
+    private SimulatedStreaming() {
+    }
+
+    /**
+     * Emits text to a listener one word at a time
+     *
+     * @param text         The full response text
+     * @param listener     The listener receiving chunks
+     * @param chunkDelayMs Simulated generation time per chunk
+     * @throws InterruptedException If the thread is interrupted between chunks
+     */
+    static void emit(String text, AgentStreamListener listener, long chunkDelayMs) throws InterruptedException {
+        int start = 0;
+        int length = text.length();
+        while (start < length) {
+            int end = text.indexOf(' ', start);
+            end = end < 0 ? length : end + 1;
+            listener.onChunk(text.substring(start, end));
+            start = end;
+
+            if (start < length && chunkDelayMs > 0) {
+                Thread.sleep(chunkDelayMs);
+            }
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.soulcorehub.lambda.agent.tokenizer;
+
+/**
+ * Byte-level BPE tokenizer over a {@link BpeVocabulary}.
+ * Text is split into pieces by a hand-written scanner that follows the cl100k_base pre-tokenizer
+ * pattern, each piece is encoded to UTF-8 into a per-thread scratch buffer, and the piece is merged
+ * in the same order as tiktoken: the lowest-ranked adjacent pair first, the leftmost on ties. With
+ * a cl100k_base vocabulary the counts match tiktoken's; o200k_base splits text with a different
+ * pattern, so counts for its vocabulary are close estimates.
+ *
+ * <p>Counting allocates nothing once the scratch buffers fit the longest piece. Buffers grown for
+ * an unusually long piece are dropped after the call, so each thread keeps only a few kilobytes.
+ */
+public final class BpeTokenizer implements TokenCounter {
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final BpeVocabulary vocabulary;
+
+    /**
+     * Creates a new BpeTokenizer
+     *
+     * @param vocabulary The vocabulary and merge ranks
+     */
+    public BpeTokenizer(BpeVocabulary vocabulary) {
+        this.vocabulary = vocabulary;
+    }
+
+    @Override
+    public int countTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+
+        Scratch scratch = SCRATCH.get();
+        try {
+            int tokens = 0;
+            int pos = 0;
+            while (pos < text.length()) {
+                int end = nextPiece(text, pos);
+                tokens += countPiece(scratch.encode(text, pos, end), scratch);
+                pos = end;
+            }
+            return tokens;
+        } finally {
+            scratch.shrink();
+        }
+    }
+
+    /**
+     * Counts the tokens of the piece in the scratch buffer. Parts are kept in a linked list over
+     * their start offsets and candidate merges in a heap ordered by rank, then offset, which picks
+     * the same merge as tiktoken's repeated scan without being quadratic in the piece length.
+     */
+    private int countPiece(int length, Scratch scratch) {
+        byte[] bytes = scratch.bytes;
+        if (length == 1 || vocabulary.rank(bytes, 0, length) >= 0) {
+            return 1;
+        }
+
+        scratch.ensureParts(length);
+        int[] next = scratch.next;
+        int[] prev = scratch.prev;
+        int[] pairRank = scratch.pairRank;
+        scratch.heapSize = 0;
+
+        // Every byte starts as its own part; pairRank[i] is the rank of part i joined with the next part
+        for (int i = 0; i < length; i++) {
+            next[i] = i + 1;
+            prev[i] = i - 1;
+            pairRank[i] = i + 1 < length ? vocabulary.rank(bytes, i, 2) : -1;
+            if (pairRank[i] >= 0) {
+                scratch.push(pairRank[i], i);
+            }
+        }
+
+        int parts = length;
+        while (scratch.heapSize > 0) {
+            long top = scratch.pop();
+            int rank = (int) (top >>> 32);
+            int part = (int) top;
+            if (pairRank[part] != rank) {
+                // The part was merged away, or its pair changed since this entry was pushed
+                continue;
+            }
+
+            // Merge the part with the next one, then rank the pairs on either side of the result
+            int merged = next[part];
+            int after = next[merged];
+            next[part] = after;
+            if (after < length) {
+                prev[after] = part;
+            }
+            pairRank[merged] = -1;
+            parts--;
+
+            pairRank[part] = after < length ? vocabulary.rank(bytes, part, next[after] - part) : -1;
+            if (pairRank[part] >= 0) {
+                scratch.push(pairRank[part], part);
+            }
+
+            int before = prev[part];
+            if (before >= 0) {
+                pairRank[before] = vocabulary.rank(bytes, before, after - before);
+                if (pairRank[before] >= 0) {
+                    scratch.push(pairRank[before], before);
+                }
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Finds the end of the piece starting at pos. Follows the alternatives of the cl100k_base
+     * pattern in order, the first that matches winning:
+     * <ol>
+     *   <li>a contraction: 's, 't, 're, 've, 'm, 'll or 'd in any case</li>
+     *   <li>a run of letters, optionally after one character that is not a line break, letter or number</li>
+     *   <li>one to three numbers</li>
+     *   <li>a run of other characters, optionally after one space, and the line breaks following it</li>
+     *   <li>whitespace up to and including its last line break</li>
+     *   <li>whitespace, leaving its last character to the next piece when more text follows</li>
+     * </ol>
+     *
+     * @param text The text
+     * @param pos  Start of the piece, in chars
+     * @return End of the piece, in chars
+     */
+    static int nextPiece(String text, int pos) {
+        int length = text.length();
+        int c = text.codePointAt(pos);
+        int afterFirst = pos + Character.charCount(c);
+
+        if (c == '\'') {
+            int end = contractionEnd(text, afterFirst);
+            if (end > 0) {
+                return end;
+            }
+        }
+
+        if (isLetter(c)) {
+            return skipLetters(text, afterFirst);
+        }
+        if (c != '\r' && c != '\n' && !isNumber(c) && afterFirst < length && isLetter(text.codePointAt(afterFirst))) {
+            return skipLetters(text, afterFirst);
+        }
+
+        if (isNumber(c)) {
+            int i = afterFirst;
+            for (int count = 1; count < 3 && i < length; count++) {
+                int d = text.codePointAt(i);
+                if (!isNumber(d)) {
+                    break;
+                }
+                i += Character.charCount(d);
+            }
+            return i;
+        }
+
+        int otherStart = c == ' ' ? afterFirst : pos;
+        if (otherStart < length && isOther(text.codePointAt(otherStart))) {
+            int i = otherStart;
+            while (i < length) {
+                int o = text.codePointAt(i);
+                if (!isOther(o)) {
+                    break;
+                }
+                i += Character.charCount(o);
+            }
+            while (i < length && (text.charAt(i) == '\r' || text.charAt(i) == '\n')) {
+                i++;
+            }
+            return i;
+        }
+
+        // Only whitespace is left, and every whitespace character is a single char
+        int end = pos;
+        int lastLineBreak = -1;
+        while (end < length && isWhitespace(text.charAt(end))) {
+            if (text.charAt(end) == '\r' || text.charAt(end) == '\n') {
+                lastLineBreak = end;
+            }
+            end++;
+        }
+        if (lastLineBreak >= 0) {
+            return lastLineBreak + 1;
+        }
+        if (end < length && end - pos > 1) {
+            return end - 1;
+        }
+        return end;
+    }
+
+    /**
+     * Gets the end of a contraction whose apostrophe ends at pos, or -1 if there is none
+     */
+    private static int contractionEnd(String text, int pos) {
+        if (pos >= text.length()) {
+            return -1;
+        }
+        char first = Character.toLowerCase(text.charAt(pos));
+        // U+017F, the long s, folds to s under the pattern's Unicode case-insensitive match
+        if (first == 's' || first == '\u017f' || first == 't' || first == 'm' || first == 'd') {
+            return pos + 1;
+        }
+        if (pos + 1 < text.length()) {
+            char second = Character.toLowerCase(text.charAt(pos + 1));
+            if ((first == 'r' || first == 'v') && second == 'e' || first == 'l' && second == 'l') {
+                return pos + 2;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipLetters(String text, int pos) {
+        int i = pos;
+        while (i < text.length()) {
+            int c = text.codePointAt(i);
+            if (!isLetter(c)) {
+                break;
+            }
+            i += Character.charCount(c);
+        }
+        return i;
+    }
+
+    private static boolean isLetter(int c) {
+        return Character.isLetter(c);
+    }
+
+    private static boolean isNumber(int c) {
+        int type = Character.getType(c);
+        return type == Character.DECIMAL_DIGIT_NUMBER || type == Character.LETTER_NUMBER
+                || type == Character.OTHER_NUMBER;
+    }
+
+    private static boolean isOther(int c) {
+        return !isWhitespace(c) && !isLetter(c) && !isNumber(c);
+    }
+
+    /**
+     * The Unicode White_Space property, which the pattern's \s matches. Unlike
+     * {@link Character#isWhitespace} it includes no-break spaces and excludes the separators U+001C to U+001F.
+     */
+    private static boolean isWhitespace(int c) {
+        return (c >= 0x09 && c <= 0x0d) || c == 0x20 || c == 0x85 || c == 0xa0 || c == 0x1680
+                || (c >= 0x2000 && c <= 0x200a) || c == 0x2028 || c == 0x2029 || c == 0x202f
+                || c == 0x205f || c == 0x3000;
+    }
+
+    /**
+     * Per-thread buffers reused across calls
+     */
+    private static final class Scratch {
+        // Pieces are usually a word long, so small buffers cover almost every call
+        private static final int INITIAL_BYTES = 256;
+        // Buffers grown beyond this for a long piece are dropped once the call is done
+        private static final int RETAINED_BYTES = 4096;
+
+        private byte[] bytes = new byte[INITIAL_BYTES];
+        private int[] next = new int[INITIAL_BYTES];
+        private int[] prev = new int[INITIAL_BYTES];
+        private int[] pairRank = new int[INITIAL_BYTES];
+        // Heap of (rank << 32 | part) entries; each merge pushes at most two
+        private long[] heap = new long[INITIAL_BYTES * 3];
+        private int heapSize;
+
+        /**
+         * Encodes part of the text as UTF-8 into the byte buffer without allocating an intermediate array
+         *
+         * @return The number of bytes written
+         */
+        int encode(String text, int start, int end) {
+            int maxLength = (end - start) * 3;
+            if (bytes.length < maxLength) {
+                bytes = new byte[Math.max(maxLength, bytes.length * 2)];
+            }
+
+            byte[] out = bytes;
+            int n = 0;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    out[n++] = (byte) c;
+                } else if (c < 0x800) {
+                    out[n++] = (byte) (0xc0 | (c >> 6));
+                    out[n++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < end
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, text.charAt(++i));
+                    out[n++] = (byte) (0xf0 | (cp >> 18));
+                    out[n++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    out[n++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    out[n++] = (byte) (0x80 | (cp & 0x3f));
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogates encode as '?', matching String.getBytes
+                    out[n++] = '?';
+                } else {
+                    out[n++] = (byte) (0xe0 | (c >> 12));
+                    out[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    out[n++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+            return n;
+        }
+
+        void ensureParts(int length) {
+            if (next.length < length) {
+                int capacity = Math.max(length, next.length * 2);
+                next = new int[capacity];
+                prev = new int[capacity];
+                pairRank = new int[capacity];
+                heap = new long[capacity * 3];
+            }
+        }
+
+        /**
+         * Releases buffers grown for a long piece, so idle threads do not hold on to them
+         */
+        void shrink() {
+            if (bytes.length > RETAINED_BYTES) {
+                bytes = new byte[INITIAL_BYTES];
+            }
+            if (next.length > RETAINED_BYTES) {
+                next = new int[INITIAL_BYTES];
+                prev = new int[INITIAL_BYTES];
+                pairRank = new int[INITIAL_BYTES];
+                heap = new long[INITIAL_BYTES * 3];
+            }
+        }
+
+        void push(int rank, int part) {
+            long entry = ((long) rank << 32) | part;
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= entry) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = entry;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.soulcorehub.lambda.agent.tokenizer;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Byte-level BPE vocabulary in the tiktoken format: one {@code <base64 token> <rank>} pair per line.
+ * The file is memory-mapped and parsed once into a single byte pool and an open-addressing hash
+ * table over byte slices, so rank lookups during encoding read straight from the caller's buffer
+ * and allocate nothing.
+ */
+public final class BpeVocabulary {
+    private static final int NOT_FOUND = -1;
+
+    private final byte[] pool;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] ranks;
+    private final int[] table;
+    private final int mask;
+    private final int size;
+
+    private BpeVocabulary(byte[] pool, int[] offsets, int[] lengths, int[] ranks, int size) {
+        this.pool = pool;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.ranks = ranks;
+        this.size = size;
+
+        int capacity = Integer.highestOneBit(Math.max(16, size * 2 - 1)) << 1;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        java.util.Arrays.fill(table, NOT_FOUND);
+        for (int token = 0; token < size; token++) {
+            int slot = hash(pool, offsets[token], lengths[token]) & mask;
+            while (table[slot] != NOT_FOUND) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = token;
+        }
+    }
+
+    /**
+     * Loads a vocabulary from a tiktoken-format file
+     *
+     * @param path The vocabulary file
+     * @return The vocabulary
+     * @throws IOException If the file cannot be read
+     */
+    public static BpeVocabulary load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Vocabulary file is too large: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(buffer, (int) channel.size());
+        }
+    }
+
+    /**
+     * Parses the mapped file. Base64 is decoded straight into the pool, three bytes per four
+     * characters, so the pool is sized from the file length up front.
+     */
+    private static BpeVocabulary parse(MappedByteBuffer buffer, int length) throws IOException {
+        byte[] pool = new byte[length * 3 / 4 + 4];
+        int lines = 0;
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(i) == '\n') {
+                lines++;
+            }
+        }
+        lines++;
+
+        int[] offsets = new int[lines];
+        int[] lengths = new int[lines];
+        int[] ranks = new int[lines];
+        int count = 0;
+        int poolSize = 0;
+
+        int pos = 0;
+        while (pos < length) {
+            int lineEnd = pos;
+            while (lineEnd < length && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int space = pos;
+            while (space < lineEnd && buffer.get(space) != ' ') {
+                space++;
+            }
+
+            if (space > pos && space < lineEnd) {
+                int decoded = decodeBase64(buffer, pos, space, pool, poolSize);
+                if (decoded < 0) {
+                    throw new IOException("Invalid base64 token on vocabulary line " + (count + 1));
+                }
+                offsets[count] = poolSize;
+                lengths[count] = decoded;
+                ranks[count] = parseRank(buffer, space + 1, lineEnd, count + 1);
+                poolSize += decoded;
+                count++;
+            }
+
+            pos = lineEnd + 1;
+        }
+
+        return new BpeVocabulary(pool, offsets, lengths, ranks, count);
+    }
+
+    /**
+     * Gets the rank of a byte sequence
+     *
+     * @param bytes  The buffer holding the sequence
+     * @param offset Start of the sequence
+     * @param length Length of the sequence
+     * @return The merge rank, lower merging first, or -1 if the sequence is not a token
+     */
+    public int rank(byte[] bytes, int offset, int length) {
+        int slot = hash(bytes, offset, length) & mask;
+        while (true) {
+            int token = table[slot];
+            if (token == NOT_FOUND) {
+                return NOT_FOUND;
+            }
+            if (lengths[token] == length && equals(pool, offsets[token], bytes, offset, length)) {
+                return ranks[token];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Gets the number of tokens in the vocabulary
+     *
+     * @return The vocabulary size
+     */
+    public int size() {
+        return size;
+    }
+
+    private static boolean equals(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[aOffset + i] != b[bOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a over a byte slice, finished with a multiply-shift to spread low-entropy keys
+     */
+    private static int hash(byte[] bytes, int offset, int length) {
+        int h = 0x811c9dc5;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            h = (h ^ (bytes[i] & 0xff)) * 0x01000193;
+        }
+        return (h * 0x9e3779b9) ^ (h >>> 16);
+    }
+
+    private static int parseRank(MappedByteBuffer buffer, int start, int end, int line) throws IOException {
+        int rank = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '\r') {
+                break;
+            }
+            if (b < '0' || b > '9') {
+                throw new IOException("Invalid rank on vocabulary line " + line);
+            }
+            rank = rank * 10 + (b - '0');
+            digits++;
+        }
+        if (digits == 0) {
+            throw new IOException("Missing rank on vocabulary line " + line);
+        }
+        return rank;
+    }
+
+    private static int decodeBase64(MappedByteBuffer buffer, int start, int end, byte[] out, int outOffset) {
+        int bits = 0;
+        int bitCount = 0;
+        int written = 0;
+        for (int i = start; i < end; i++) {
+            byte c = buffer.get(i);
+            if (c == '=') {
+                break;
+            }
+            int value = base64Value(c);
+            if (value < 0) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[outOffset + written++] = (byte) (bits >> bitCount);
+            }
+        }
+        return written;
+    }
+
+    private static int base64Value(byte c) {
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        }
+        if (c == '+') {
+            return 62;
+        }
+        if (c == '/') {
+            return 63;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.soulcorehub.lambda.agent.tokenizer;
+
+/**
+ * Estimates token counts as one token per four characters.
+ * Used when no tokenizer vocabulary is configured.
+ */
+public final class EstimatingTokenCounter implements TokenCounter {
+    @Override
+    public int countTokens(String text) {
+        return text == null ? 0 : text.length() / 4;
+    }
+}
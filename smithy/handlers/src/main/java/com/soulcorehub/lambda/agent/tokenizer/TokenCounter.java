@@ -0,0 +1,14 @@
+package com.soulcorehub.lambda.agent.tokenizer;
+
+/**
+ * Counts the tokens a model sees in a piece of text
+ */
+public interface TokenCounter {
+    /**
+     * Counts the tokens in text
+     *
+     * @param text The text, may be null
+     * @return The number of tokens, zero for null or empty text
+     */
+    int countTokens(String text);
+}
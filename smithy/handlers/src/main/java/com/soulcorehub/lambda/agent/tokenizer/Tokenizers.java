@@ -0,0 +1,50 @@
+package com.soulcorehub.lambda.agent.tokenizer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds the process-wide token counter.
+ * The vocabulary named by TOKENIZER_VOCAB_PATH (a tiktoken-format ranks file, for example one
+ * shipped in a Lambda layer) is memory-mapped and loaded once during class initialization. When
+ * the variable is unset or the file cannot be loaded, counts fall back to the length/4 estimate.
+ */
+public final class Tokenizers {
+    private static final Logger logger = LoggerFactory.getLogger(Tokenizers.class);
+    private static final TokenCounter DEFAULT = load(System.getenv("TOKENIZER_VOCAB_PATH"));
+
+    private Tokenizers() {
+    }
+
+    /**
+     * Gets the process-wide token counter
+     *
+     * @return The BPE tokenizer if a vocabulary is configured, otherwise the length estimate
+     */
+    public static TokenCounter getDefault() {
+        return DEFAULT;
+    }
+
+    private static TokenCounter load(String vocabPath) {
+        if (vocabPath == null || vocabPath.isEmpty()) {
+            logger.info("No tokenizer vocabulary configured, estimating token counts");
+            return new EstimatingTokenCounter();
+        }
+
+        Path path = Paths.get(vocabPath);
+        try {
+            long startTime = System.currentTimeMillis();
+            BpeVocabulary vocabulary = BpeVocabulary.load(path);
+            logger.info("Loaded tokenizer vocabulary of {} tokens from {} in {} ms",
+                    vocabulary.size(), path, System.currentTimeMillis() - startTime);
+            return new BpeTokenizer(vocabulary);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to load tokenizer vocabulary from {}, estimating token counts", path, e);
+            return new EstimatingTokenCounter();
+        }
+    }
+}
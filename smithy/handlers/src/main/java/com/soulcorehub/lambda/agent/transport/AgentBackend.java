@@ -0,0 +1,89 @@
+package com.soulcorehub.lambda.agent.transport;
+
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Connection settings for one agent backend
+ */
+public final class AgentBackend {
+    private final String name;
+    private final URI endpoint;
+    private final String apiKey;
+    private final Duration timeout;
+
+    /**
+     * Creates a new AgentBackend
+     *
+     * @param name     The backend name, used in logs and errors
+     * @param endpoint The URI requests are posted to
+     * @param apiKey   The API key sent as a bearer token, or null
+     * @param timeout  The timeout for a complete request
+     */
+    public AgentBackend(String name, URI endpoint, String apiKey, Duration timeout) {
+        this.name = name;
+        this.endpoint = endpoint;
+        this.apiKey = apiKey;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Reads backend settings from {@code <PREFIX>_API_ENDPOINT}, {@code <PREFIX>_API_KEY}
+     * and {@code <PREFIX>_API_TIMEOUT_MS}
+     *
+     * @param name   The backend name
+     * @param prefix The environment variable prefix, for example ANIMA
+     * @return The backend, or null if no endpoint is configured
+     */
+    public static AgentBackend fromEnvironment(String name, String prefix) {
+        String endpoint = System.getenv(prefix + "_API_ENDPOINT");
+        if (endpoint == null || endpoint.isEmpty()) {
+            return null;
+        }
+
+        return new AgentBackend(
+                name,
+                URI.create(endpoint),
+                System.getenv(prefix + "_API_KEY"),
+                Duration.ofMillis(EnvironmentConfig.getLong(prefix + "_API_TIMEOUT_MS", 10000))
+        );
+    }
+
+    /**
+     * Gets the backend name
+     *
+     * @return The backend name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the URI requests are posted to
+     *
+     * @return The endpoint
+     */
+    public URI getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Gets the API key
+     *
+     * @return The API key, or null
+     */
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    /**
+     * Gets the timeout for a complete request
+     *
+     * @return The timeout
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,181 @@
+package com.soulcorehub.lambda.agent.transport;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+import com.soulcorehub.lambda.util.Deadline;
+import com.soulcorehub.lambda.util.EnvironmentConfig;
+import com.soulcorehub.lambda.util.Futures;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared HTTP transport for agent backends.
+ * One {@link HttpClient} is created per process and reused across invocations, so TLS and
+ * connection setup are paid once per backend rather than on every request. HTTP/2 is preferred,
+ * letting concurrent calls to the same backend share one multiplexed connection.
+ * Request bodies above AGENT_HTTP_COMPRESSION_THRESHOLD bytes are gzip-compressed.
+ */
+public final class AgentHttpTransport {
+    private static final Logger logger = LoggerFactory.getLogger(AgentHttpTransport.class);
+    private static final long CONNECT_TIMEOUT_MS = EnvironmentConfig.getLong("AGENT_HTTP_CONNECT_TIMEOUT_MS", 2000);
+    private static final int COMPRESSION_THRESHOLD = EnvironmentConfig.getInt("AGENT_HTTP_COMPRESSION_THRESHOLD", 1024);
+
+    private static final Gson GSON = new Gson();
+    private static final Type RESPONSE_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+
+    private final HttpClient httpClient;
+
+    /**
+     * Creates a transport over an existing HTTP client
+     *
+     * @param httpClient The HTTP client
+     */
+    public AgentHttpTransport(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Gets the shared transport
+     *
+     * @return The transport
+     */
+    public static AgentHttpTransport getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Posts a JSON payload to a backend
+     *
+     * @param backend The backend to call
+     * @param payload The request payload
+     * @return A future completed with the parsed JSON response
+     */
+    public CompletableFuture<Map<String, Object>> post(AgentBackend backend, Map<String, Object> payload) {
+        return post(backend, payload, Deadline.none());
+    }
+
+    /**
+     * Posts a JSON payload to a backend, timing out at the earlier of the backend's
+     * timeout and the caller's deadline
+     *
+     * @param backend  The backend to call
+     * @param payload  The request payload
+     * @param deadline The deadline of the calling request
+     * @return A future completed with the parsed JSON response; cancelling it cancels the request
+     */
+    public CompletableFuture<Map<String, Object>> post(AgentBackend backend, Map<String, Object> payload, Deadline deadline) {
+        deadline.check("calling the " + backend.getName() + " backend");
+        byte[] body = GSON.toJson(payload).getBytes(StandardCharsets.UTF_8);
+
+        Duration timeout = deadline.cap(backend.getTimeout());
+        boolean deadlineBound = timeout.compareTo(backend.getTimeout()) < 0;
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(backend.getEndpoint())
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip");
+
+        if (backend.getApiKey() != null && !backend.getApiKey().isEmpty()) {
+            request.header("Authorization", "Bearer " + backend.getApiKey());
+        }
+
+        if (body.length > COMPRESSION_THRESHOLD) {
+            body = gzip(body);
+            request.header("Content-Encoding", "gzip");
+        }
+
+        request.POST(HttpRequest.BodyPublishers.ofByteArray(body));
+
+        CompletableFuture<HttpResponse<InputStream>> exchange =
+                httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+
+        // Cancelling the response cancels the exchange. From Java 16 this aborts the request;
+        // older runtimes let it run until the request timeout above.
+        return Futures.forwardCancellation(exchange.handle((response, error) -> {
+            if (error != null) {
+                throw translate(backend, error, deadlineBound || deadline.isExpired());
+            }
+            return readResponse(backend, response);
+        }), exchange);
+    }
+
+    /**
+     * Checks the status and parses the JSON body of a backend response
+     */
+    private static Map<String, Object> readResponse(AgentBackend backend, HttpResponse<InputStream> response) {
+        try (InputStream body = decode(response)) {
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                logger.warn("{} backend returned status {}", backend.getName(), response.statusCode());
+                throw new RuntimeException(backend.getName() + " backend returned status " + response.statusCode());
+            }
+
+            Map<String, Object> result = GSON.fromJson(new InputStreamReader(body, StandardCharsets.UTF_8), RESPONSE_TYPE);
+            if (result == null) {
+                throw new RuntimeException(backend.getName() + " backend returned an empty response");
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + backend.getName() + " backend response", e);
+        } catch (JsonParseException e) {
+            throw new RuntimeException(backend.getName() + " backend returned invalid JSON", e);
+        }
+    }
+
+    /**
+     * Reports a request timeout that was cut short by the caller's deadline as an exceeded
+     * deadline, so it is not counted against the backend's health
+     */
+    private static CompletionException translate(AgentBackend backend, Throwable error, boolean deadlineBound) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException && deadlineBound) {
+            return new CompletionException(new DeadlineExceededException(
+                    "Deadline exceeded during call to the " + backend.getName() + " backend"));
+        }
+        return error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+    }
+
+    private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+        return "gzip".equalsIgnoreCase(encoding) ? new GZIPInputStream(response.body()) : response.body();
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress request body", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static final class Holder {
+        static final AgentHttpTransport INSTANCE = new AgentHttpTransport(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(CONNECT_TIMEOUT_MS))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build());
+    }
+}
@@ -0,0 +1,16 @@
+package com.soulcorehub.lambda.exception;
+
+/**
+ * Exception thrown when the caller is not allowed to perform an operation
+ */
+public class AccessDeniedException extends RuntimeException {
+
+    /**
+     * Creates a new AccessDeniedException
+     *
+     * @param message The error message
+     */
+    public AccessDeniedException(String message) {
+        super(message);
+    }
+}
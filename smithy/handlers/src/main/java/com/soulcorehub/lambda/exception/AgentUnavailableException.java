@@ -0,0 +1,43 @@
+package com.soulcorehub.lambda.exception;
+
+/**
+ * Exception thrown when an agent backend is not accepting calls, because its circuit
+ * breaker is open or its concurrency limit is reached. Callers fail fast instead of
+ * waiting on a degraded backend. The stack trace is not captured, since these errors
+ * are expected under load and should stay cheap.
+ */
+public class AgentUnavailableException extends RuntimeException {
+    private final String agentType;
+    private final String reason;
+
+    /**
+     * Creates a new AgentUnavailableException
+     *
+     * @param message   The error message
+     * @param agentType The agent type whose backend is unavailable
+     * @param reason    Why the call was rejected, for example circuit_open or concurrency_limit
+     */
+    public AgentUnavailableException(String message, String agentType, String reason) {
+        super(message, null, false, false);
+        this.agentType = agentType;
+        this.reason = reason;
+    }
+
+    /**
+     * Gets the agent type
+     *
+     * @return The agent type
+     */
+    public String getAgentType() {
+        return agentType;
+    }
+
+    /**
+     * Gets why the call was rejected
+     *
+     * @return The rejection reason
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,18 @@
+package com.soulcorehub.lambda.exception;
+
+/**
+ * Exception thrown when a request runs out of time before its work completes.
+ * The request's remaining work is cancelled so the function can return a clean error
+ * before the Lambda runtime stops it. The stack trace is not captured, since the
+ * deadline, not the code path, is the cause.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    /**
+     * Creates a new DeadlineExceededException
+     *
+     * @param message The error message
+     */
+    public DeadlineExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
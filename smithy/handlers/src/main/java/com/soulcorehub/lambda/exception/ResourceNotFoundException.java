@@ -20,6 +20,23 @@ public class ResourceNotFoundException extends RuntimeException {
         this.resourceId = resourceId;
     }
 
+    /**
+     * Creates a new ResourceNotFoundException, optionally without a stack trace.
+     * Not-found errors for unknown IDs are expected on hot paths, where capturing
+     * a stack trace costs more than the lookup that produced the error.
+     *
+     * @param message            The error message
+     * @param resourceType       The type of resource
+     * @param resourceId         The ID of the resource
+     * @param writableStackTrace Whether the stack trace should be captured
+     */
+    public ResourceNotFoundException(String message, String resourceType, String resourceId,
+                                     boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.resourceType = resourceType;
+        this.resourceId = resourceId;
+    }
+
     /**
      * Gets the resource type
      *
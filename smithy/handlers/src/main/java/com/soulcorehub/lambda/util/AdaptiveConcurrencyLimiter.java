@@ -0,0 +1,135 @@
+package com.soulcorehub.lambda.util;
+
+/**
+ * Concurrency limiter whose limit adapts to observed latency (AIMD).
+ * Agent latency grows with the length of the response, so the limiter compares latency per
+ * output token rather than raw latency, and compares a short-term average of it to a long-term
+ * baseline instead of to the best latency seen. While the short-term average stays within
+ * {@code tolerance} times the baseline and the limit is being used, the limit grows by one; when
+ * it climbs past that, or a call fails, the limit is cut by the backoff ratio. A few long
+ * responses therefore leave the limit alone, while queueing in a degraded backend, which slows
+ * every token, shrinks the number of calls sent to it.
+ */
+public class AdaptiveConcurrencyLimiter {
+    // Weight of each sample in the short-term average, roughly the last ten calls
+    private static final double SHORT_WEIGHT = 0.2;
+    // Weight of each sample in the baseline, slow enough that an overload does not become the norm
+    private static final double BASELINE_WEIGHT = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+    private double shortTermMillis = -1.0;
+    private double baselineMillis = -1.0;
+
+    /**
+     * Creates a new AdaptiveConcurrencyLimiter
+     *
+     * @param initialLimit Concurrency limit to start from
+     * @param minLimit     Lowest the limit may fall
+     * @param maxLimit     Highest the limit may grow
+     * @param tolerance    Short-term latency per token, as a multiple of the baseline, above which the limit is cut
+     * @param backoffRatio Factor the limit is multiplied by when it is cut
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 0 < minLimit <= maxLimit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Asks permission to start a call. Every permitted call must be followed by
+     * {@link #onSuccess(long, int)}, {@link #onDropped()} or {@link #onIgnored()}.
+     *
+     * @return True if the call may proceed
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Records a successful call whose output size is unknown and adjusts the limit from its latency
+     *
+     * @param latencyMillis The latency of the call in milliseconds
+     */
+    public void onSuccess(long latencyMillis) {
+        onSuccess(latencyMillis, 1);
+    }
+
+    /**
+     * Records a successful call and adjusts the limit from its latency per output token
+     *
+     * @param latencyMillis The latency of the call in milliseconds
+     * @param outputTokens  The number of tokens the call generated
+     */
+    public synchronized void onSuccess(long latencyMillis, int outputTokens) {
+        boolean saturated = inFlight * 2 >= (int) limit;
+        inFlight--;
+
+        double sample = (double) latencyMillis / Math.max(1, outputTokens);
+        if (baselineMillis < 0) {
+            shortTermMillis = sample;
+            baselineMillis = sample;
+        } else {
+            shortTermMillis += (sample - shortTermMillis) * SHORT_WEIGHT;
+            // Outliers are clamped, so a sustained overload only slowly raises the baseline
+            baselineMillis += (Math.min(sample, baselineMillis * tolerance) - baselineMillis) * BASELINE_WEIGHT;
+        }
+
+        if (shortTermMillis > baselineMillis * tolerance) {
+            decrease();
+        } else if (saturated) {
+            limit = Math.min(maxLimit, limit + 1.0);
+        }
+    }
+
+    /**
+     * Records a failed or timed-out call and cuts the limit
+     */
+    public synchronized void onDropped() {
+        inFlight--;
+        decrease();
+    }
+
+    /**
+     * Releases a call without adjusting the limit, for example when the call was cancelled
+     */
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    /**
+     * Gets the current concurrency limit
+     *
+     * @return The limit
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Gets the number of calls in flight
+     *
+     * @return The count
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
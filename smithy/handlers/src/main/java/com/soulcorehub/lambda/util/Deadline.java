@@ -0,0 +1,178 @@
+package com.soulcorehub.lambda.util;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a request's work must finish.
+ * Handlers derive the deadline from the Lambda context's remaining time minus a safety margin
+ * (AGENT_DEADLINE_MARGIN_MS, default 500), leaving time to return an error before the runtime
+ * stops the function, and pass it to every downstream call.
+ */
+public final class Deadline {
+    private static final long MARGIN_MS = EnvironmentConfig.getLong("AGENT_DEADLINE_MARGIN_MS", 500);
+    private static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Creates a deadline from the time remaining in a Lambda invocation
+     *
+     * @param context The Lambda context, or null when running outside Lambda
+     * @return The deadline, or {@link #none()} if the context is null
+     */
+    public static Deadline fromContext(Context context) {
+        if (context == null) {
+            return NONE;
+        }
+        return after(Math.max(0L, context.getRemainingTimeInMillis() - MARGIN_MS));
+    }
+
+    /**
+     * Creates a deadline from an invocation deadline given as epoch milliseconds, such as the one
+     * the Lambda Web Adapter forwards, minus the same safety margin as {@link #fromContext}
+     *
+     * @param epochMillis The invocation deadline, in milliseconds since the epoch
+     * @return The deadline
+     */
+    public static Deadline fromEpochMillis(long epochMillis) {
+        return after(Math.max(0L, epochMillis - System.currentTimeMillis() - MARGIN_MS));
+    }
+
+    /**
+     * Creates a deadline a fixed time from now
+     *
+     * @param millis Milliseconds until the deadline
+     * @return The deadline
+     */
+    public static Deadline after(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Gets the deadline that never expires
+     *
+     * @return The deadline
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Checks whether the deadline never expires
+     *
+     * @return True for {@link #none()}
+     */
+    public boolean isNone() {
+        return this == NONE;
+    }
+
+    /**
+     * Gets the time left before the deadline
+     *
+     * @return Milliseconds left, zero once the deadline has passed, or Long.MAX_VALUE for {@link #none()}
+     */
+    public long remainingMillis() {
+        if (isNone()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0L, TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * Checks whether the deadline has passed
+     *
+     * @return True if no time is left
+     */
+    public boolean isExpired() {
+        return !isNone() && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Caps a timeout at the time left before the deadline
+     *
+     * @param timeout The timeout configured for a call
+     * @return The shorter of the timeout and the remaining time
+     */
+    public Duration cap(Duration timeout) {
+        return isNone() ? timeout : Duration.ofMillis(Math.max(1L, Math.min(timeout.toMillis(), remainingMillis())));
+    }
+
+    /**
+     * Throws if the deadline has passed
+     *
+     * @param operation What was about to run, used in the error message
+     * @throws DeadlineExceededException If no time is left
+     */
+    public void check(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Deadline exceeded before " + operation);
+        }
+    }
+
+    /**
+     * Bounds a future by the deadline. If the deadline passes first, the returned future
+     * completes with {@link DeadlineExceededException} and the future is cancelled; cancelling
+     * the returned future cancels the future as well.
+     *
+     * <p>Cancelling a future stops only the work that future passes cancellation on to. Futures
+     * built with {@link Futures} pass it down to the backend call; the work is also bounded
+     * at the leaf, since each DynamoDB read and backend request carries a timeout capped at
+     * the deadline.
+     *
+     * @param future    The future to bound
+     * @param operation What the future computes, used in the error message
+     * @param <T>       The result type
+     * @return A future completed with the result, or with the deadline error
+     */
+    public <T> CompletableFuture<T> bound(CompletableFuture<T> future, String operation) {
+        if (isNone() || future.isDone()) {
+            return future;
+        }
+
+        CompletableFuture<T> bounded = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                bounded.completeExceptionally(error);
+            } else {
+                bounded.complete(value);
+            }
+        });
+
+        // The timer runs only the hand-off, so callbacks of the expired future never hold up other timers
+        ScheduledFuture<?> timer = Timer.SCHEDULER.schedule(() -> ForkJoinPool.commonPool().execute(() -> {
+            if (bounded.completeExceptionally(new DeadlineExceededException("Deadline exceeded during " + operation))) {
+                future.cancel(true);
+            }
+        }), remainingMillis(), TimeUnit.MILLISECONDS);
+        // A pending timer holds both futures, and so their result, until it is removed
+        bounded.whenComplete((value, error) -> timer.cancel(false));
+        return Futures.forwardCancellation(bounded, future);
+    }
+
+    /**
+     * Deadline timers, shared by every bound future and removed from the queue once cancelled
+     */
+    private static final class Timer {
+        static final ScheduledThreadPoolExecutor SCHEDULER = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "deadline-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            SCHEDULER.setRemoveOnCancelPolicy(true);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.soulcorehub.lambda.util;
+
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
+
+import java.net.URI;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility class for the asynchronous DynamoDB client.
+ * Like {@link DynamoDbClient}, a single client is built on the first call to {@link #getInstance()} and shared
+ * by the whole process. Requests complete on the SDK's event loop, so callers can start a lookup
+ * and keep working until they need the result.
+ *
+ * <p>Uses the CRT async HTTP client. Pool size, timeouts and retries are read from the
+ * environment variables listed in {@link DynamoDbConfig}.
+ */
+public class DynamoDbAsyncClient {
+    private static final Logger logger = LoggerFactory.getLogger(DynamoDbAsyncClient.class);
+
+    private final software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient client;
+
+    private DynamoDbAsyncClient() {
+        // Create DynamoDB async client builder
+        DynamoDbAsyncClientBuilder builder = software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient.builder()
+                .region(DynamoDbConfig.region())
+                .httpClient(buildHttpClient())
+                .overrideConfiguration(DynamoDbConfig.overrideConfiguration());
+
+        // Check if running locally with DynamoDB local
+        URI endpointOverride = DynamoDbConfig.endpointOverride();
+        if (endpointOverride != null) {
+            builder.endpointOverride(endpointOverride);
+        }
+
+        // Build client
+        this.client = builder.build();
+        logger.info("Created async DynamoDB client");
+    }
+
+    /**
+     * Wraps an existing client, such as an in-memory stand-in for tests and benchmarks
+     *
+     * @param client The asynchronous DynamoDB client
+     */
+    public DynamoDbAsyncClient(software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Gets the shared asynchronous DynamoDB client wrapper
+     *
+     * @return The asynchronous DynamoDB client wrapper
+     */
+    public static DynamoDbAsyncClient getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets the asynchronous DynamoDB client
+     *
+     * @return The asynchronous DynamoDB client
+     */
+    public software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient getClient() {
+        return client;
+    }
+
+    /**
+     * Builds the async HTTP client
+     */
+    private static SdkAsyncHttpClient buildHttpClient() {
+        return AwsCrtAsyncHttpClient.builder()
+                .maxConcurrency(DynamoDbConfig.MAX_CONNECTIONS)
+                .connectionTimeout(DynamoDbConfig.CONNECT_TIMEOUT)
+                .connectionMaxIdleTime(DynamoDbConfig.CONNECTION_MAX_IDLE)
+                .tcpKeepAliveConfiguration(DynamoDbConfig.tcpKeepAlive())
+                .build();
+    }
+
+    private static final class Holder {
+        static final DynamoDbAsyncClient INSTANCE = new DynamoDbAsyncClient();
+    }
+}
@@ -1,31 +1,72 @@
 package com.soulcorehub.lambda.util;
 
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.crt.AwsCrtHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+
+import java.net.URI;
+import java.util.Collections;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Utility class for DynamoDB client
+ * Utility class for DynamoDB client.
+ * A single tuned client is built on the first call to {@link #getInstance()}, which handlers make
+ * in their constructors, and shared by the whole process, so connection setup is paid during
+ * Lambda init rather than by the first request. Loading the class alone builds nothing, so tests
+ * and benchmarks that wrap their own client never reach AWS.
+ *
+ * <p>Uses the URLConnection HTTP client, which has no third-party dependencies and starts fastest, or the
+ * CRT client when DYNAMODB_HTTP_CLIENT is crt. Pool size, timeouts and retries are read from
+ * the environment variables listed in {@link DynamoDbConfig}.
  */
 public class DynamoDbClient {
-    private final DynamoDbClient client;
+    private static final Logger logger = LoggerFactory.getLogger(DynamoDbClient.class);
 
-    public DynamoDbClient() {
-        // Get region from environment variable or use default
-        String regionName = System.getenv("AWS_REGION");
-        Region region = regionName != null ? Region.of(regionName) : Region.US_EAST_1;
-        
+    private final software.amazon.awssdk.services.dynamodb.DynamoDbClient client;
+
+    private DynamoDbClient() {
         // Create DynamoDB client builder
-        DynamoDbClientBuilder builder = DynamoDbClient.builder().region(region);
-        
+        DynamoDbClientBuilder builder = software.amazon.awssdk.services.dynamodb.DynamoDbClient.builder()
+                .region(DynamoDbConfig.region())
+                .httpClient(buildHttpClient())
+                .overrideConfiguration(DynamoDbConfig.overrideConfiguration());
+
         // Check if running locally with DynamoDB local
-        String endpointOverride = System.getenv("DYNAMODB_ENDPOINT");
-        if (endpointOverride != null && !endpointOverride.isEmpty()) {
-            builder.endpointOverride(java.net.URI.create(endpointOverride));
+        URI endpointOverride = DynamoDbConfig.endpointOverride();
+        if (endpointOverride != null) {
+            builder.endpointOverride(endpointOverride);
         }
-        
+
         // Build client
         this.client = builder.build();
+        logger.info("Created DynamoDB client with {} HTTP client", DynamoDbConfig.HTTP_CLIENT);
+
+        if (DynamoDbConfig.PRIME_CONNECTION) {
+            primeConnection();
+        }
+    }
+
+    /**
+     * Wraps an existing client, such as an in-memory stand-in for tests and benchmarks
+     *
+     * @param client The DynamoDB client
+     */
+    public DynamoDbClient(software.amazon.awssdk.services.dynamodb.DynamoDbClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Gets the shared DynamoDB client wrapper
+     *
+     * @return The DynamoDB client wrapper
+     */
+    public static DynamoDbClient getInstance() {
+        return Holder.INSTANCE;
     }
 
     /**
@@ -33,7 +74,54 @@ public class DynamoDbClient {
      *
      * @return The DynamoDB client
      */
-    public DynamoDbClient getClient() {
+    public software.amazon.awssdk.services.dynamodb.DynamoDbClient getClient() {
         return client;
     }
+
+    /**
+     * Builds the HTTP client selected by DYNAMODB_HTTP_CLIENT
+     */
+    private static SdkHttpClient buildHttpClient() {
+        switch (DynamoDbConfig.HTTP_CLIENT) {
+            case "urlconnection":
+                // Keep-alive for URLConnection is controlled by the JVM's http.keepAlive property
+                return UrlConnectionHttpClient.builder()
+                        .connectionTimeout(DynamoDbConfig.CONNECT_TIMEOUT)
+                        .socketTimeout(DynamoDbConfig.READ_TIMEOUT)
+                        .build();
+            case "crt":
+                return AwsCrtHttpClient.builder()
+                        .maxConcurrency(DynamoDbConfig.MAX_CONNECTIONS)
+                        .connectionTimeout(DynamoDbConfig.CONNECT_TIMEOUT)
+                        .connectionMaxIdleTime(DynamoDbConfig.CONNECTION_MAX_IDLE)
+                        .tcpKeepAliveConfiguration(DynamoDbConfig.tcpKeepAlive())
+                        .build();
+            default:
+                throw new IllegalStateException("Unsupported DYNAMODB_HTTP_CLIENT: " + DynamoDbConfig.HTTP_CLIENT);
+        }
+    }
+
+    /**
+     * Issues a lightweight read so the TLS handshake and credential resolution happen during init
+     */
+    private void primeConnection() {
+        String tableName = System.getenv("AGENTS_TABLE_NAME");
+        if (tableName == null || tableName.isEmpty()) {
+            return;
+        }
+
+        try {
+            client.getItem(GetItemRequest.builder()
+                    .tableName(tableName)
+                    .key(Collections.singletonMap("agentId", AttributeValue.builder().s("__init__").build()))
+                    .projectionExpression("agentId")
+                    .build());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to prime DynamoDB connection", e);
+        }
+    }
+
+    private static final class Holder {
+        static final DynamoDbClient INSTANCE = new DynamoDbClient();
+    }
 }
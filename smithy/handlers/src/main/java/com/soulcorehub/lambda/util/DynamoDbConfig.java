@@ -0,0 +1,94 @@
+package com.soulcorehub.lambda.util;
+
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.crt.TcpKeepAliveConfiguration;
+import software.amazon.awssdk.regions.Region;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Configuration shared by {@link DynamoDbClient} and {@link DynamoDbAsyncClient}, read once
+ * from environment variables:
+ * <ul>
+ *   <li>DYNAMODB_HTTP_CLIENT: HTTP client of the synchronous client, urlconnection (default) or crt;
+ *       the asynchronous client always uses crt</li>
+ *   <li>DYNAMODB_MAX_CONNECTIONS: connection pool size for crt (default 50)</li>
+ *   <li>DYNAMODB_TCP_KEEPALIVE: whether to enable TCP keep-alive for crt (default true)</li>
+ *   <li>DYNAMODB_CONNECTION_MAX_IDLE_MS: how long idle pooled connections are kept (default 60000)</li>
+ *   <li>DYNAMODB_CONNECT_TIMEOUT_MS: connect timeout (default 1000)</li>
+ *   <li>DYNAMODB_READ_TIMEOUT_MS: socket read timeout for urlconnection (default 3000)</li>
+ *   <li>DYNAMODB_RETRY_MODE: legacy, standard (default) or adaptive</li>
+ *   <li>DYNAMODB_MAX_RETRIES: maximum retries per call (default 3)</li>
+ *   <li>DYNAMODB_API_CALL_TIMEOUT_MS: overall timeout per call including retries (default unset)</li>
+ *   <li>DYNAMODB_PRIME_CONNECTION: open a connection during init (default true)</li>
+ *   <li>DYNAMODB_ENDPOINT: endpoint override, for example DynamoDB local (default unset)</li>
+ * </ul>
+ */
+final class DynamoDbConfig {
+    static final String HTTP_CLIENT = EnvironmentConfig.getString("DYNAMODB_HTTP_CLIENT", "urlconnection")
+            .toLowerCase(Locale.ROOT);
+    static final int MAX_CONNECTIONS = EnvironmentConfig.getInt("DYNAMODB_MAX_CONNECTIONS", 50);
+    static final boolean TCP_KEEPALIVE = EnvironmentConfig.getBoolean("DYNAMODB_TCP_KEEPALIVE", true);
+    static final Duration CONNECTION_MAX_IDLE = Duration.ofMillis(EnvironmentConfig.getLong("DYNAMODB_CONNECTION_MAX_IDLE_MS", 60000));
+    static final Duration CONNECT_TIMEOUT = Duration.ofMillis(EnvironmentConfig.getLong("DYNAMODB_CONNECT_TIMEOUT_MS", 1000));
+    static final Duration READ_TIMEOUT = Duration.ofMillis(EnvironmentConfig.getLong("DYNAMODB_READ_TIMEOUT_MS", 3000));
+    static final boolean PRIME_CONNECTION = EnvironmentConfig.getBoolean("DYNAMODB_PRIME_CONNECTION", true);
+
+    private static final String RETRY_MODE = EnvironmentConfig.getString("DYNAMODB_RETRY_MODE", "standard");
+    private static final int MAX_RETRIES = EnvironmentConfig.getInt("DYNAMODB_MAX_RETRIES", 3);
+    private static final long API_CALL_TIMEOUT_MS = EnvironmentConfig.getLong("DYNAMODB_API_CALL_TIMEOUT_MS", 0);
+
+    private DynamoDbConfig() {
+    }
+
+    /**
+     * Gets the region from AWS_REGION, defaulting to us-east-1
+     */
+    static Region region() {
+        String regionName = System.getenv("AWS_REGION");
+        return regionName != null ? Region.of(regionName) : Region.US_EAST_1;
+    }
+
+    /**
+     * Gets the endpoint override, or null to use the regional endpoint
+     */
+    static URI endpointOverride() {
+        String endpointOverride = System.getenv("DYNAMODB_ENDPOINT");
+        return endpointOverride != null && !endpointOverride.isEmpty() ? URI.create(endpointOverride) : null;
+    }
+
+    /**
+     * Gets the TCP keep-alive settings for the CRT clients, or null when keep-alive is disabled
+     */
+    static TcpKeepAliveConfiguration tcpKeepAlive() {
+        if (!TCP_KEEPALIVE) {
+            return null;
+        }
+        return TcpKeepAliveConfiguration.builder()
+                .keepAliveInterval(Duration.ofSeconds(30))
+                .keepAliveTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Builds the retry policy and call timeouts
+     */
+    static ClientOverrideConfiguration overrideConfiguration() {
+        RetryMode retryMode = RetryMode.valueOf(RETRY_MODE.toUpperCase(Locale.ROOT));
+
+        ClientOverrideConfiguration.Builder builder = ClientOverrideConfiguration.builder()
+                .retryPolicy(RetryPolicy.builder(retryMode)
+                        .numRetries(MAX_RETRIES)
+                        .build());
+
+        if (API_CALL_TIMEOUT_MS > 0) {
+            builder.apiCallTimeout(Duration.ofMillis(API_CALL_TIMEOUT_MS));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.soulcorehub.lambda.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility class for reading typed configuration from environment variables
+ */
+public final class EnvironmentConfig {
+    private static final Logger logger = LoggerFactory.getLogger(EnvironmentConfig.class);
+    // Lambda's smallest memory setting, assumed when running outside Lambda
+    private static final int DEFAULT_MEMORY_MB = 128;
+
+    private EnvironmentConfig() {
+    }
+
+    /**
+     * Gets a string environment variable
+     *
+     * @param name         The name of the variable
+     * @param defaultValue The value to use when the variable is unset or empty
+     * @return The configured value or the default
+     */
+    public static String getString(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+
+    /**
+     * Gets an integer environment variable
+     *
+     * @param name         The name of the variable
+     * @param defaultValue The value to use when the variable is unset or invalid
+     * @return The configured value or the default
+     */
+    public static int getInt(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid integer value for {}: {}", name, value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a long environment variable
+     *
+     * @param name         The name of the variable
+     * @param defaultValue The value to use when the variable is unset or invalid
+     * @return The configured value or the default
+     */
+    public static long getLong(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid long value for {}: {}", name, value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a double environment variable
+     *
+     * @param name         The name of the variable
+     * @param defaultValue The value to use when the variable is unset or invalid
+     * @return The configured value or the default
+     */
+    public static double getDouble(String name, double defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring invalid numeric value for {}: {}", name, value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a boolean environment variable
+     *
+     * @param name         The name of the variable
+     * @param defaultValue The value to use when the variable is unset or empty
+     * @return The configured value or the default
+     */
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Gets a share of the function's configured memory, for sizing in-memory caches
+     *
+     * @param percent The share, in percent
+     * @return The share in bytes of AWS_LAMBDA_FUNCTION_MEMORY_SIZE, or of 128 MB when it is not set
+     */
+    public static long getMemoryShare(double percent) {
+        long memoryBytes = getInt("AWS_LAMBDA_FUNCTION_MEMORY_SIZE", DEFAULT_MEMORY_MB) * 1024L * 1024L;
+        return (long) (memoryBytes * percent / 100.0);
+    }
+}
@@ -0,0 +1,121 @@
+package com.soulcorehub.lambda.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Helpers that carry cancellation back to the work behind a future.
+ * Cancelling a {@link CompletableFuture} only completes that future: stages derived with
+ * thenApply or thenCompose never cancel the future they were derived from, so the backend call
+ * at the bottom of a chain keeps running. Chains built with these helpers pass a cancellation on
+ * to the future they depend on, down to the task or request doing the work.
+ */
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Cancels a source future when a future derived from it is cancelled
+     *
+     * @param derived The derived future returned to callers
+     * @param source  The future or task doing the work
+     * @param <T>     The result type
+     * @return The derived future
+     */
+    public static <T> CompletableFuture<T> forwardCancellation(CompletableFuture<T> derived, Future<?> source) {
+        derived.whenComplete((value, error) -> {
+            if (derived.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return derived;
+    }
+
+    /**
+     * Composes a future with a function starting the next step. Cancelling the returned future
+     * cancels the source while it is pending, and the next step once it has started.
+     *
+     * @param source The first step
+     * @param next   Starts the next step from the result of the first
+     * @param <T>    The result type of the first step
+     * @param <U>    The result type of the next step
+     * @return A future completed with the result of the next step
+     */
+    public static <T, U> CompletableFuture<U> compose(
+            CompletableFuture<T> source,
+            Function<? super T, ? extends CompletableFuture<U>> next
+    ) {
+        CompletableFuture<U> composed = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<U>> started = new AtomicReference<>();
+
+        source.whenComplete((value, error) -> {
+            if (error != null) {
+                composed.completeExceptionally(error);
+                return;
+            }
+            if (composed.isDone()) {
+                return;
+            }
+
+            CompletableFuture<U> step;
+            try {
+                step = next.apply(value);
+            } catch (Throwable e) {
+                composed.completeExceptionally(e);
+                return;
+            }
+            started.set(step);
+            step.whenComplete((result, stepError) -> {
+                if (stepError != null) {
+                    composed.completeExceptionally(stepError);
+                } else {
+                    composed.complete(result);
+                }
+            });
+            // The caller may have cancelled while the step was being started
+            if (composed.isCancelled()) {
+                step.cancel(true);
+            }
+        });
+
+        composed.whenComplete((value, error) -> {
+            if (composed.isCancelled()) {
+                source.cancel(true);
+                CompletableFuture<U> step = started.get();
+                if (step != null) {
+                    step.cancel(true);
+                }
+            }
+        });
+        return composed;
+    }
+
+    /**
+     * Runs a supplier on an executor. Unlike {@link CompletableFuture#supplyAsync}, cancelling
+     * the returned future interrupts the supplier if it is running and drops it if it is queued.
+     *
+     * @param supplier Computes the result
+     * @param executor Runs the supplier
+     * @param <T>      The result type
+     * @return A future completed with the supplier's result
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                result.complete(supplier.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }, null);
+
+        executor.execute(task);
+        return forwardCancellation(result, task);
+    }
+}
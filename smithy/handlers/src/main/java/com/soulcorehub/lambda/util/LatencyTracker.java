@@ -0,0 +1,75 @@
+package com.soulcorehub.lambda.util;
+
+import java.util.Arrays;
+
+/**
+ * Tracks recent call latencies and estimates a percentile over them.
+ * Latencies are kept in a fixed-size ring buffer, and the percentile is recomputed after every
+ * {@code recomputeInterval} samples rather than on every read, so reads stay constant time.
+ */
+public class LatencyTracker {
+    private final long[] samples;
+    private final double percentile;
+    private final int recomputeInterval;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long cachedPercentile = -1L;
+
+    /**
+     * Creates a new LatencyTracker
+     *
+     * @param windowSize        Number of recent samples kept
+     * @param percentile        Percentile to estimate, between 0 and 1, for example 0.95
+     * @param recomputeInterval Samples recorded between recomputations of the percentile
+     */
+    public LatencyTracker(int windowSize, double percentile, int recomputeInterval) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be in (0, 1]");
+        }
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+        this.recomputeInterval = Math.max(1, recomputeInterval);
+    }
+
+    /**
+     * Records the latency of a completed call
+     *
+     * @param latencyMillis The latency in milliseconds
+     */
+    public synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+
+        if (++sinceRecompute >= recomputeInterval || cachedPercentile < 0) {
+            sinceRecompute = 0;
+            long[] window = Arrays.copyOf(samples, count);
+            Arrays.sort(window);
+            cachedPercentile = window[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * Gets the estimated percentile latency
+     *
+     * @return The latency in milliseconds, or -1 if nothing has been recorded
+     */
+    public long getPercentile() {
+        return cachedPercentile;
+    }
+
+    /**
+     * Gets the number of samples currently in the window
+     *
+     * @return The sample count
+     */
+    public synchronized int getSampleCount() {
+        return count;
+    }
+}
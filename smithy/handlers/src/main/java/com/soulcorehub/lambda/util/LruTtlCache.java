@@ -0,0 +1,325 @@
+package com.soulcorehub.lambda.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded in-memory cache with per-entry TTL and least-recently-used eviction.
+ * Entries can opt into refresh-ahead: once an entry is older than the refresh
+ * threshold, the next read returns the cached value and reloads it in the
+ * background so callers never wait on the loader for a hot key.
+ * A weigher can additionally bound the total estimated size of the cached values.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class LruTtlCache<K, V> {
+    private static final Logger logger = LoggerFactory.getLogger(LruTtlCache.class);
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final Executor refreshExecutor;
+    private final LinkedHashMap<K, Entry<K, V>> entries;
+    private long totalWeight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    /**
+     * Creates a new cache
+     *
+     * @param maxEntries      Maximum number of entries before the least recently used is evicted
+     * @param ttl             Time an entry stays valid after it was loaded
+     * @param refreshAhead    Age after which a refresh-ahead entry is reloaded in the background,
+     *                        or zero to disable refresh-ahead
+     * @param unit            Time unit of ttl and refreshAhead
+     * @param refreshExecutor Executor used for background reloads
+     */
+    public LruTtlCache(int maxEntries, long ttl, long refreshAhead, TimeUnit unit, Executor refreshExecutor) {
+        this(maxEntries, 0L, null, ttl, refreshAhead, unit, refreshExecutor);
+    }
+
+    /**
+     * Creates a new cache bounded by both entry count and total weight
+     *
+     * @param maxEntries      Maximum number of entries before the least recently used is evicted
+     * @param maxWeight       Maximum total weight before the least recently used is evicted,
+     *                        or zero to bound by entry count only
+     * @param weigher         Estimates the weight of a value, typically its size in bytes
+     * @param ttl             Time an entry stays valid after it was loaded
+     * @param refreshAhead    Age after which a refresh-ahead entry is reloaded in the background,
+     *                        or zero to disable refresh-ahead
+     * @param unit            Time unit of ttl and refreshAhead
+     * @param refreshExecutor Executor used for background reloads
+     */
+    public LruTtlCache(int maxEntries, long maxWeight, ToLongFunction<? super V> weigher,
+                       long ttl, long refreshAhead, TimeUnit unit, Executor refreshExecutor) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if (maxWeight > 0 && weigher == null) {
+            throw new IllegalArgumentException("weigher is required when maxWeight is set");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = maxWeight > 0 ? weigher : null;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.refreshAheadNanos = refreshAhead > 0 && refreshAhead < ttl ? unit.toNanos(refreshAhead) : 0L;
+        this.refreshExecutor = refreshExecutor;
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024) * 4 / 3 + 1, 0.75f, true);
+    }
+
+    /**
+     * Gets a cached value
+     *
+     * @param key The key to look up
+     * @return The cached value, or null if absent or expired
+     */
+    public V get(K key) {
+        long now = System.nanoTime();
+        Entry<K, V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt >= ttlNanos) {
+                entries.remove(key);
+                totalWeight -= entry.weight;
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        maybeRefresh(key, entry, now);
+        return entry.value;
+    }
+
+    /**
+     * Gets a cached value, loading it on a miss. Loaded values are stored with
+     * refresh-ahead enabled when the cache was configured with a refresh threshold.
+     *
+     * @param key    The key to look up
+     * @param loader Loads the value on a miss; a null result is not cached
+     * @return The cached or loaded value, or null if the loader returned null
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value, loader);
+        }
+        return value;
+    }
+
+    /**
+     * Stores a value without refresh-ahead
+     *
+     * @param key   The key
+     * @param value The value
+     */
+    public void put(K key, V value) {
+        put(key, value, null);
+    }
+
+    /**
+     * Stores a value
+     *
+     * @param key       The key
+     * @param value     The value
+     * @param refresher Loader used to refresh the entry ahead of expiry, or null to disable
+     *                  refresh-ahead for this entry
+     */
+    public void put(K key, V value, Function<? super K, ? extends V> refresher) {
+        long weight = weigher != null ? weigher.applyAsLong(value) : 0L;
+        if (maxWeight > 0 && weight > maxWeight) {
+            // A value larger than the whole cache would only evict everything else
+            invalidate(key);
+            return;
+        }
+
+        Entry<K, V> entry = new Entry<>(value, weight, System.nanoTime(), refreshAheadNanos > 0 ? refresher : null);
+        synchronized (entries) {
+            Entry<K, V> previous = entries.put(key, entry);
+            totalWeight += weight - (previous != null ? previous.weight : 0L);
+            evictOverflow();
+        }
+    }
+
+    /**
+     * Removes an entry
+     *
+     * @param key The key to remove
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            Entry<K, V> previous = entries.remove(key);
+            if (previous != null) {
+                totalWeight -= previous.weight;
+            }
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches a predicate. Scans all entries, so it is meant
+     * for occasional invalidation rather than the read path.
+     *
+     * @param predicate Selects the keys to remove
+     */
+    public void invalidateIf(Predicate<? super K> predicate) {
+        synchronized (entries) {
+            Iterator<Map.Entry<K, Entry<K, V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Entry<K, V>> entry = iterator.next();
+                if (predicate.test(entry.getKey())) {
+                    totalWeight -= entry.getValue().weight;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            totalWeight = 0L;
+        }
+    }
+
+    /**
+     * Gets the number of entries, including expired entries not yet removed
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Gets the total weight of the entries, including expired entries not yet removed
+     *
+     * @return The total weight, or zero when the cache has no weigher
+     */
+    public long weight() {
+        synchronized (entries) {
+            return totalWeight;
+        }
+    }
+
+    /**
+     * Gets the number of reads that found a live entry
+     *
+     * @return The count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of reads that found no live entry
+     *
+     * @return The count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of entries evicted to stay within the size bound
+     *
+     * @return The count
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the number of background refresh-ahead reloads started
+     *
+     * @return The count
+     */
+    public long getRefreshCount() {
+        return refreshes.get();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<K, V>>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || (maxWeight > 0 && totalWeight > maxWeight)) && iterator.hasNext()) {
+            totalWeight -= iterator.next().getValue().weight;
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void maybeRefresh(K key, Entry<K, V> entry, long now) {
+        if (entry.refresher == null || now - entry.loadedAt < refreshAheadNanos) {
+            return;
+        }
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        refreshes.incrementAndGet();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    V value = entry.refresher.apply(key);
+                    if (value != null) {
+                        put(key, value, entry.refresher);
+                    } else {
+                        invalidate(key);
+                    }
+                } catch (RuntimeException e) {
+                    // Keep serving the current value until it expires
+                    logger.warn("Refresh-ahead failed for key: {}", key, e);
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not schedule refresh-ahead for key: {}", key, e);
+            entry.refreshing.set(false);
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final V value;
+        private final long weight;
+        private final long loadedAt;
+        private final Function<? super K, ? extends V> refresher;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(V value, long weight, long loadedAt, Function<? super K, ? extends V> refresher) {
+            this.value = value;
+            this.weight = weight;
+            this.loadedAt = loadedAt;
+            this.refresher = refresher;
+        }
+    }
+}
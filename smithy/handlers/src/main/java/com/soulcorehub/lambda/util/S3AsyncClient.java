@@ -0,0 +1,59 @@
+package com.soulcorehub.lambda.util;
+
+import software.amazon.awssdk.http.crt.AwsCrtAsyncHttpClient;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Utility class for the asynchronous S3 client used to write agent exports.
+ * The client is built on first use, so handlers that never export do not pay for it. It uses
+ * the CRT async HTTP client and the region of the DynamoDB clients.
+ */
+public class S3AsyncClient {
+    private static final Logger logger = LoggerFactory.getLogger(S3AsyncClient.class);
+
+    private final software.amazon.awssdk.services.s3.S3AsyncClient client;
+
+    private S3AsyncClient() {
+        // The HTTP client is named explicitly, since more than one is on the classpath
+        this.client = software.amazon.awssdk.services.s3.S3AsyncClient.builder()
+                .region(DynamoDbConfig.region())
+                .httpClient(AwsCrtAsyncHttpClient.builder()
+                        .connectionTimeout(DynamoDbConfig.CONNECT_TIMEOUT)
+                        .build())
+                .build();
+        logger.info("Created async S3 client");
+    }
+
+    /**
+     * Wraps an existing client, such as an in-memory stand-in for tests
+     *
+     * @param client The asynchronous S3 client
+     */
+    public S3AsyncClient(software.amazon.awssdk.services.s3.S3AsyncClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Gets the shared asynchronous S3 client wrapper
+     *
+     * @return The asynchronous S3 client wrapper
+     */
+    public static S3AsyncClient getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Gets the asynchronous S3 client
+     *
+     * @return The asynchronous S3 client
+     */
+    public software.amazon.awssdk.services.s3.S3AsyncClient getClient() {
+        return client;
+    }
+
+    private static final class Holder {
+        static final S3AsyncClient INSTANCE = new S3AsyncClient();
+    }
+}
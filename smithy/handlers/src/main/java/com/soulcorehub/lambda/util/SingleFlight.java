@@ -0,0 +1,210 @@
+package com.soulcorehub.lambda.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one in-flight call.
+ * The first caller for a key becomes the leader and runs the call; callers arriving while it is
+ * in flight follow it and complete with the leader's result. A follower that has waited longer
+ * than the configured limit stops waiting and runs the call itself.
+ *
+ * <p>Each caller receives its own future. Cancelling it, or a follower giving up on the wait,
+ * withdraws only that caller; the shared call is cancelled once every caller has withdrawn, and
+ * a caller arriving after that starts a new call. Because the shared call serves several callers,
+ * it should not be bounded by any one caller's deadline: each caller bounds its own future.
+ *
+ * @param <K> The key type
+ * @param <V> The result type
+ */
+public class SingleFlight<K, V> {
+    private final long maxFollowerWaitMillis;
+    private final ConcurrentMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong followers = new AtomicLong();
+    private final AtomicLong followerTimeouts = new AtomicLong();
+
+    /**
+     * Creates a new SingleFlight
+     *
+     * @param maxFollowerWait Longest time a follower waits for the leader before running its own call
+     * @param unit            Time unit of maxFollowerWait
+     */
+    public SingleFlight(long maxFollowerWait, TimeUnit unit) {
+        this.maxFollowerWaitMillis = unit.toMillis(maxFollowerWait);
+    }
+
+    /**
+     * Runs a call, or joins the call already in flight for the same key
+     *
+     * @param key  The key identifying equivalent calls
+     * @param call Starts the call
+     * @return A future completed with the result of the call
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletionStage<V>> call) {
+        while (true) {
+            Flight<V> flight = new Flight<>();
+            Flight<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                leaders.incrementAndGet();
+                return lead(key, flight, call);
+            }
+            if (existing.enter()) {
+                followers.incrementAndGet();
+                return follow(key, existing, call);
+            }
+            // Every caller withdrew from the existing flight and it is being cancelled
+            inFlight.remove(key, existing);
+        }
+    }
+
+    /**
+     * Gets the number of calls that ran as leader
+     *
+     * @return The count
+     */
+    public long getLeaderCount() {
+        return leaders.get();
+    }
+
+    /**
+     * Gets the number of calls that joined an in-flight call
+     *
+     * @return The count
+     */
+    public long getFollowerCount() {
+        return followers.get();
+    }
+
+    /**
+     * Gets the number of followers that gave up waiting and ran their own call
+     *
+     * @return The count
+     */
+    public long getFollowerTimeoutCount() {
+        return followerTimeouts.get();
+    }
+
+    private CompletableFuture<V> lead(K key, Flight<V> flight, Supplier<? extends CompletionStage<V>> call) {
+        try {
+            CompletableFuture<V> source = call.get().toCompletableFuture();
+            flight.source = source;
+            source.whenComplete((value, error) -> {
+                inFlight.remove(key, flight);
+                if (error != null) {
+                    flight.result.completeExceptionally(error);
+                } else {
+                    flight.result.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.result.completeExceptionally(e);
+        }
+        return waiter(key, flight);
+    }
+
+    private CompletableFuture<V> follow(K key, Flight<V> flight, Supplier<? extends CompletionStage<V>> call) {
+        CompletableFuture<V> waiter = waiter(key, flight);
+        if (maxFollowerWaitMillis <= 0 || flight.result.isDone()) {
+            return waiter;
+        }
+
+        // Time out the follower's own future, so the shared result is never completed by a follower
+        waiter.orTimeout(maxFollowerWaitMillis, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<V> result = new CompletableFuture<>();
+        waiter.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            if (!(cause instanceof TimeoutException) || flight.result.isDone()) {
+                // Cancelled, failed with the shared call, or timed out just as the shared call finished
+                flight.result.whenComplete((sharedValue, sharedError) -> complete(result, sharedValue, sharedError));
+                return;
+            }
+
+            followerTimeouts.incrementAndGet();
+            try {
+                CompletableFuture<V> own = call.get().toCompletableFuture();
+                own.whenComplete((ownValue, ownError) -> complete(result, ownValue, ownError));
+                Futures.forwardCancellation(result, own);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return Futures.forwardCancellation(result, waiter);
+    }
+
+    /**
+     * Creates a caller's own future for a flight. When it completes before the shared result,
+     * because it was cancelled or timed out, the caller withdraws from the flight.
+     */
+    private CompletableFuture<V> waiter(K key, Flight<V> flight) {
+        CompletableFuture<V> waiter = flight.result.copy();
+        waiter.whenComplete((value, error) -> {
+            if (!flight.result.isDone() && flight.leave()) {
+                inFlight.remove(key, flight);
+                Future<?> source = flight.source;
+                if (source != null) {
+                    source.cancel(true);
+                }
+            }
+        });
+        return waiter;
+    }
+
+    private static <V> void complete(CompletableFuture<V> future, V value, Throwable error) {
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(value);
+        }
+    }
+
+    /**
+     * One shared call and the callers waiting on it
+     */
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile Future<?> source;
+        // The leader counts as a waiter from the start, so followers cannot abandon the flight before it starts
+        private int waiters = 1;
+        private boolean abandoned;
+
+        /**
+         * Adds a follower, unless every caller has already withdrawn
+         */
+        private synchronized boolean enter() {
+            if (abandoned) {
+                return false;
+            }
+            waiters++;
+            return true;
+        }
+
+        /**
+         * Withdraws a caller
+         *
+         * @return True if it was the last caller, so the shared call should be cancelled
+         */
+        private synchronized boolean leave() {
+            if (--waiters == 0) {
+                abandoned = true;
+            }
+            return abandoned;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.soulcorehub.lambda.agent.ensemble;
+
+import com.soulcorehub.lambda.agent.service.AgentInvocationResult;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AgentEnsembleTest {
+    private final AgentEnsemble ensemble = new AgentEnsemble();
+    private final Map<String, CompletableFuture<AgentInvocationResult>> started = new LinkedHashMap<>();
+    private final Function<String, CompletableFuture<AgentInvocationResult>> invocation = agentId -> {
+        CompletableFuture<AgentInvocationResult> future = new CompletableFuture<>();
+        started.put(agentId, future);
+        return future;
+    };
+
+    @Test
+    void cancelsRemainingMembersOnceSatisfied() {
+        CompletableFuture<AgentInvocationResult> merged =
+                ensemble.invoke(Arrays.asList("a", "b", "c"), invocation, EnsemblePolicy.QUORUM, 2);
+        started.get("a").complete(result("A"));
+        started.get("b").complete(result("B"));
+
+        assertTrue(merged.isDone());
+        assertTrue(started.get("c").isCancelled());
+        assertEquals("cancelled", merged.join().getMetadata().get("c.status"));
+    }
+
+    @Test
+    void skipsMembersOnceDecidedByAnImmediateResult() {
+        Function<String, CompletableFuture<AgentInvocationResult>> cachedFirst = agentId -> "a".equals(agentId)
+                ? CompletableFuture.completedFuture(result("cached"))
+                : invocation.apply(agentId);
+
+        CompletableFuture<AgentInvocationResult> merged =
+                ensemble.invoke(Arrays.asList("a", "b", "c"), cachedFirst, EnsemblePolicy.FIRST_SUCCESS, 1);
+
+        assertEquals("cached", merged.join().getResponse());
+        assertTrue(started.isEmpty());
+    }
+
+    @Test
+    void cancelsRemainingMembersOnceUnsatisfiable() {
+        CompletableFuture<AgentInvocationResult> merged =
+                ensemble.invoke(Arrays.asList("a", "b", "c"), invocation, EnsemblePolicy.QUORUM, 3);
+        started.get("a").completeExceptionally(new IllegalStateException("backend failed"));
+
+        assertTrue(merged.isCompletedExceptionally());
+        assertTrue(started.get("b").isCancelled());
+        assertTrue(started.get("c").isCancelled());
+    }
+
+    @Test
+    void cancelsMembersWhenCallerCancels() {
+        CompletableFuture<AgentInvocationResult> merged =
+                ensemble.invoke(Arrays.asList("a", "b"), invocation, EnsemblePolicy.ALL, 1);
+        merged.cancel(false);
+
+        started.values().forEach(member -> assertTrue(member.isCancelled()));
+    }
+
+    @Test
+    void waitsForEveryMemberUnderAll() {
+        List<String> agentIds = Arrays.asList("a", "b");
+        CompletableFuture<AgentInvocationResult> merged = ensemble.invoke(agentIds, invocation, EnsemblePolicy.ALL, 1);
+        started.get("a").complete(result("A"));
+
+        assertFalse(merged.isDone());
+        started.get("b").complete(result("B"));
+        assertEquals("[a]\nA\n\n[b]\nB", merged.join().getResponse());
+    }
+
+    @Test
+    void rejectsQuorumOutOfRange() {
+        List<String> agentIds = Arrays.asList("a", "b");
+        assertThrows(IllegalArgumentException.class, () -> ensemble.invoke(agentIds, invocation, EnsemblePolicy.QUORUM, 3));
+        assertTrue(started.isEmpty());
+    }
+
+    private static AgentInvocationResult result(String response) {
+        return new AgentInvocationResult(response, 1, 1, 2, Collections.emptyMap());
+    }
+}
@@ -0,0 +1,76 @@
+package com.soulcorehub.lambda.agent.service;
+
+import com.soulcorehub.lambda.util.AdaptiveConcurrencyLimiter;
+import com.soulcorehub.lambda.util.CircuitBreaker;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResilientAgentServiceTest {
+    private final AgentRequest request = new AgentRequest("agent-1", "Hello", Collections.emptyMap(), null, null, null);
+    private final CompletableFuture<AgentInvocationResult> call = new CompletableFuture<>();
+    private final AgentService backend = new AgentService() {
+        @Override
+        public AgentInvocationResult invokeAgent(String agentId, String prompt, Map<String, String> parameters,
+                                                 String context, Integer maxTokens, Float temperature) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletionStage<AgentInvocationResult> invokeAgentAsync(AgentRequest request) {
+            return call;
+        }
+    };
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 1.5, 0.5);
+
+    @Test
+    void keepsPermitOfCancelledCallUntilTheRequestEnds() {
+        ResilientAgentService service = service(false);
+
+        CompletableFuture<AgentInvocationResult> result = service.invokeAgentAsync(request).toCompletableFuture();
+        result.cancel(false);
+
+        // The request cannot be aborted, so it still counts against the limit
+        assertFalse(call.isCancelled());
+        assertEquals(1, limiter.getInFlight());
+
+        call.complete(new AgentInvocationResult("late", 1, 1, 2, Collections.emptyMap()));
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void abortsCancelledCallWhereTheRuntimeCan() {
+        ResilientAgentService service = service(true);
+
+        CompletableFuture<AgentInvocationResult> result = service.invokeAgentAsync(request).toCompletableFuture();
+        result.cancel(false);
+
+        assertTrue(call.isCancelled());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void passesResultThrough() {
+        ResilientAgentService service = service(true);
+
+        CompletableFuture<AgentInvocationResult> result = service.invokeAgentAsync(request).toCompletableFuture();
+        assertEquals(1, limiter.getInFlight());
+        call.complete(new AgentInvocationResult("done", 1, 1, 2, Collections.emptyMap()));
+
+        assertEquals("done", result.join().getResponse());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private ResilientAgentService service(boolean cancelAbortsCalls) {
+        return new ResilientAgentService("anima", backend, new CircuitBreaker(20, 10, 0.5, 10000, 2), limiter,
+                cancelAbortsCalls);
+    }
+}
@@ -0,0 +1,190 @@
+package com.soulcorehub.lambda.agent.tokenizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BpeTokenizerTest {
+    // The cl100k_base pre-tokenizer pattern as published with tiktoken
+    private static final Pattern CL100K = Pattern.compile(
+            "(?i:'s|'t|'re|'ve|'m|'ll|'d)|[^\\r\\n\\p{L}\\p{N}]?\\p{L}+|\\p{N}{1,3}"
+                    + "| ?[^\\s\\p{L}\\p{N}]+[\\r\\n]*|\\s*[\\r\\n]+|\\s+(?!\\S)|\\s+",
+            Pattern.UNICODE_CHARACTER_CLASS | Pattern.UNICODE_CASE);
+
+    @Test
+    void splitsLikeTiktoken() {
+        // Splits produced by tiktoken's cl100k_base regex
+        assertEquals(Arrays.asList("Hello", ",", " world", "!"), pieces("Hello, world!"));
+        assertEquals(Arrays.asList("I", "'m", " ", "123", "45", " cats"), pieces("I'm 12345 cats"));
+        assertEquals(Arrays.asList("We", "'LL", " go"), pieces("We'LL go"));
+        assertEquals(Arrays.asList("a", "  ", " b"), pieces("a   b"));
+        assertEquals(Arrays.asList("x", ":\n\n", "  ", " y"), pieces("x:\n\n   y"));
+        assertEquals(Arrays.asList("$hello", " ($", "5", ")"), pieces("$hello ($5)"));
+        assertEquals(Arrays.asList("end", " \n", " "), pieces("end \n "));
+        // Non-ASCII text is escaped, so the test compiles under any default source encoding
+        assertEquals(Arrays.asList("\u65e5\u672c\u8a9e", " ", "123"), pieces("\u65e5\u672c\u8a9e 123"));
+        assertEquals(Arrays.asList("na\u00efve", " caf\u00e9"), pieces("na\u00efve caf\u00e9"));
+    }
+
+    @Test
+    void splitsRandomTextLikeThePattern() {
+        String alphabet = "ab Z'sStTlLdDrRvVeEmM09\u0663\u00bd\n\r\t\u00a0\u2003!?.,-_/()\u00e9\u00df\u4e2d\u017f\uD83D\uDE00\u001c";
+        int[] codePoints = alphabet.codePoints().toArray();
+        Random random = new Random(42);
+
+        for (int round = 0; round < 20000; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = 1 + random.nextInt(24);
+            for (int i = 0; i < length; i++) {
+                text.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+            }
+            assertEquals(regexPieces(text.toString()), pieces(text.toString()), "Pieces of " + escape(text.toString()));
+        }
+    }
+
+    @Test
+    void mergesLikeTiktoken() throws IOException {
+        Map<String, Integer> ranks = new HashMap<>();
+        for (String merge : new String[] {"ab", "bc", "ca", " a", "abc", "aa", "bca", " ab", "aaa", "cab", "abca", "bb"}) {
+            ranks.put(merge, 256 + ranks.size());
+        }
+        BpeTokenizer tokenizer = new BpeTokenizer(vocabulary(ranks));
+        Map<String, Integer> allRanks = withBytes(ranks);
+
+        Random random = new Random(7);
+        for (int round = 0; round < 5000; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = 1 + random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                text.append("abc ".charAt(random.nextInt(4)));
+            }
+
+            int expected = 0;
+            for (String piece : regexPieces(text.toString())) {
+                expected += referenceCount(piece, allRanks);
+            }
+            assertEquals(expected, tokenizer.countTokens(text.toString()), "Tokens of \"" + text + "\"");
+        }
+    }
+
+    @Test
+    void mergesLongPiecesWhole() throws IOException {
+        Map<String, Integer> ranks = new HashMap<>();
+        ranks.put("aa", 256);
+        ranks.put("aaaa", 257);
+        BpeTokenizer tokenizer = new BpeTokenizer(vocabulary(ranks));
+
+        // One piece far longer than the retained scratch buffers, merged without windows
+        char[] text = new char[100001];
+        Arrays.fill(text, 'a');
+        assertEquals(25001, tokenizer.countTokens(new String(text)));
+
+        // The scratch buffers shrink back and still count correctly
+        assertEquals(2, tokenizer.countTokens("aaaaa"));
+    }
+
+    @Test
+    void countsEmptyText() throws IOException {
+        BpeTokenizer tokenizer = new BpeTokenizer(vocabulary(new HashMap<>()));
+        assertEquals(0, tokenizer.countTokens(null));
+        assertEquals(0, tokenizer.countTokens(""));
+        // Without merges every UTF-8 byte is a token
+        assertEquals(3 + 1 + 3, tokenizer.countTokens("\u4e2d \u4e2d"));
+    }
+
+    private static List<String> pieces(String text) {
+        List<String> pieces = new ArrayList<>();
+        int pos = 0;
+        while (pos < text.length()) {
+            int end = BpeTokenizer.nextPiece(text, pos);
+            pieces.add(text.substring(pos, end));
+            pos = end;
+        }
+        return pieces;
+    }
+
+    private static List<String> regexPieces(String text) {
+        List<String> pieces = new ArrayList<>();
+        Matcher matcher = CL100K.matcher(text);
+        while (matcher.find()) {
+            pieces.add(matcher.group());
+        }
+        return pieces;
+    }
+
+    /**
+     * A direct port of tiktoken's encoding of a piece: a whole-piece token, or repeatedly merge the lowest-ranked pair, leftmost first
+     */
+    private static int referenceCount(String piece, Map<String, Integer> ranks) {
+        if (ranks.containsKey(piece)) {
+            return 1;
+        }
+
+        List<String> parts = new ArrayList<>();
+        for (char c : piece.toCharArray()) {
+            parts.add(String.valueOf(c));
+        }
+        while (parts.size() > 1) {
+            int bestRank = Integer.MAX_VALUE;
+            int bestIndex = -1;
+            for (int i = 0; i < parts.size() - 1; i++) {
+                Integer rank = ranks.get(parts.get(i) + parts.get(i + 1));
+                if (rank != null && rank < bestRank) {
+                    bestRank = rank;
+                    bestIndex = i;
+                }
+            }
+            if (bestIndex < 0) {
+                break;
+            }
+            parts.set(bestIndex, parts.get(bestIndex) + parts.remove(bestIndex + 1));
+        }
+        return parts.size();
+    }
+
+    private static Map<String, Integer> withBytes(Map<String, Integer> merges) {
+        Map<String, Integer> ranks = new HashMap<>(merges);
+        for (int b = 0; b < 128; b++) {
+            ranks.put(String.valueOf((char) b), b);
+        }
+        return ranks;
+    }
+
+    /**
+     * Writes a tiktoken-format file holding every single byte followed by the given merges
+     */
+    private static BpeVocabulary vocabulary(Map<String, Integer> merges) throws IOException {
+        StringBuilder file = new StringBuilder();
+        Base64.Encoder encoder = Base64.getEncoder();
+        for (int b = 0; b < 256; b++) {
+            file.append(encoder.encodeToString(new byte[] {(byte) b})).append(' ').append(b).append('\n');
+        }
+        merges.forEach((token, rank) -> file.append(encoder.encodeToString(token.getBytes(StandardCharsets.UTF_8)))
+                .append(' ').append(rank).append('\n'));
+
+        Path path = Files.createTempFile("vocab", ".tiktoken");
+        path.toFile().deleteOnExit();
+        Files.write(path, file.toString().getBytes(StandardCharsets.UTF_8));
+        return BpeVocabulary.load(path);
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder();
+        text.codePoints().forEach(c -> escaped.append(c < 0x20 || c > 0x7e ? String.format("\\u%04x", c) : String.valueOf((char) c)));
+        return escaped.toString();
+    }
+}
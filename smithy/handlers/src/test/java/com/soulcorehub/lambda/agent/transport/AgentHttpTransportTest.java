@@ -0,0 +1,98 @@
+package com.soulcorehub.lambda.agent.transport;
+
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+import com.soulcorehub.lambda.util.Deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AgentHttpTransportTest {
+    private final AgentHttpTransport transport = new AgentHttpTransport(HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build());
+
+    private StubAgentBackend stub;
+
+    @AfterEach
+    void tearDown() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    void postsPayloadAndParsesResponse() throws IOException {
+        stub = new StubAgentBackend(0, 0);
+
+        Map<String, Object> response = transport.post(backend(Duration.ofSeconds(5)), payload("Hello")).join();
+
+        assertEquals("Stub response to \"Hello\"", response.get("text"));
+        assertEquals("curiosity", response.get("emotional_state"));
+        assertEquals(1L, stub.getRequestCount());
+        assertEquals(0L, stub.getCompressedRequestCount());
+    }
+
+    @Test
+    void compressesLargeBodies() throws IOException {
+        stub = new StubAgentBackend(0, 0);
+        String prompt = "A long prompt that is well past the compression threshold. ".repeat(40);
+
+        Map<String, Object> response = transport.post(backend(Duration.ofSeconds(5)), payload(prompt)).join();
+
+        assertEquals("Stub response to \"" + prompt + "\"", response.get("text"));
+        assertEquals(1L, stub.getCompressedRequestCount());
+    }
+
+    @Test
+    void reportsDeadlineCappedTimeoutAsExceededDeadline() throws IOException {
+        stub = new StubAgentBackend(0, 2000);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> transport.post(backend(Duration.ofSeconds(10)), payload("Hello"), Deadline.after(200)).join());
+
+        assertTrue(error.getCause() instanceof DeadlineExceededException, "Cause was " + error.getCause());
+    }
+
+    @Test
+    void reportsBackendTimeoutAsTimeout() throws IOException {
+        stub = new StubAgentBackend(0, 2000);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> transport.post(backend(Duration.ofMillis(200)), payload("Hello"), Deadline.after(10000)).join());
+
+        assertTrue(error.getCause() instanceof HttpTimeoutException, "Cause was " + error.getCause());
+    }
+
+    @Test
+    void rejectsExpiredDeadlineWithoutCalling() throws IOException {
+        stub = new StubAgentBackend(0, 0);
+
+        assertThrows(DeadlineExceededException.class,
+                () -> transport.post(backend(Duration.ofSeconds(5)), payload("Hello"), Deadline.after(0)));
+
+        assertEquals(0L, stub.getRequestCount());
+    }
+
+    private AgentBackend backend(Duration timeout) {
+        return new AgentBackend("Stub", stub.getEndpoint(), "test-key", timeout);
+    }
+
+    private static Map<String, Object> payload(String prompt) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("prompt", prompt);
+        payload.put("max_tokens", 64);
+        return payload;
+    }
+}
@@ -0,0 +1,144 @@
+package com.soulcorehub.lambda.agent.transport;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Local stand-in for the Anima and GPTSoul backends.
+ * Accepts the JSON payload the agent services post, including gzip-compressed bodies,
+ * and answers with a canned response in the backend format after an optional delay.
+ *
+ * <p>Run {@link #main(String[])} and point ANIMA_API_ENDPOINT or GPTSOUL_API_ENDPOINT
+ * at the printed endpoint to exercise the real transport locally.
+ */
+public final class StubAgentBackend implements AutoCloseable {
+    private static final Gson GSON = new Gson();
+    private static final Type PAYLOAD_TYPE = new TypeToken<Map<String, Object>>() { }.getType();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long delayMs;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong compressedRequests = new AtomicLong();
+
+    /**
+     * Starts a stub backend
+     *
+     * @param port    The port to listen on, or zero for an ephemeral port
+     * @param delayMs Delay before each response is sent
+     * @throws IOException If the server cannot bind
+     */
+    public StubAgentBackend(int port, long delayMs) throws IOException {
+        this.delayMs = delayMs;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = Executors.newCachedThreadPool();
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Gets the endpoint URI to configure the services with
+     *
+     * @return The endpoint
+     */
+    public URI getEndpoint() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/invoke");
+    }
+
+    /**
+     * Gets the number of requests served
+     *
+     * @return The count
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Gets the number of requests that arrived gzip-compressed
+     *
+     * @return The count
+     */
+    public long getCompressedRequestCount() {
+        return compressedRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            requests.incrementAndGet();
+            InputStream body = exchange.getRequestBody();
+            if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                compressedRequests.incrementAndGet();
+                body = new GZIPInputStream(body);
+            }
+
+            Map<String, Object> payload = GSON.fromJson(new InputStreamReader(body, StandardCharsets.UTF_8), PAYLOAD_TYPE);
+            String prompt = payload != null && payload.get("prompt") != null ? payload.get("prompt").toString() : "";
+
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+
+            String text = "Stub response to \"" + prompt + "\"";
+            Map<String, Object> response = new HashMap<>();
+            response.put("text", text);
+            response.put("emotional_state", "curiosity");
+            response.put("prompt_tokens", prompt.length() / 4);
+            response.put("completion_tokens", text.length() / 4);
+            response.put("total_tokens", (prompt.length() + text.length()) / 4);
+
+            byte[] bytes = GSON.toJson(response).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Runs a stub backend until the process is stopped
+     *
+     * @param args Optional port and response delay in milliseconds
+     * @throws IOException If the server cannot bind
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        long delayMs = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        StubAgentBackend backend = new StubAgentBackend(port, delayMs);
+        System.out.println("Stub agent backend listening on " + backend.getEndpoint());
+    }
+}
@@ -0,0 +1,96 @@
+package com.soulcorehub.lambda.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void rejectsCallsOverTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1.5, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnored();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void growsWhileSaturatedAndHealthy() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 1.5, 0.5);
+
+        for (int i = 0; i < 20; i++) {
+            fill(limiter);
+            limiter.onSuccess(100, 10);
+            drain(limiter);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void cutsLimitOnFailure() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, 1.5, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.onDropped();
+        assertEquals(4, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire());
+        limiter.onDropped();
+        assertTrue(limiter.tryAcquire());
+        limiter.onDropped();
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void ignoresLatencyThatComesFromLongerOutputs() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 8, 1.5, 0.5);
+        Random random = new Random(3);
+
+        // 20 ms per token throughout, for outputs from 10 to 1000 tokens
+        for (int i = 0; i < 500; i++) {
+            assertTrue(limiter.tryAcquire());
+            int tokens = 10 + random.nextInt(991);
+            limiter.onSuccess(20L * tokens, tokens);
+        }
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void cutsLimitWhenEveryTokenSlowsDown() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 8, 1.5, 0.5);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(20L * 100, 100);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onSuccess(60L * 100, 100);
+        }
+
+        assertEquals(1, limiter.getLimit());
+    }
+
+    private static void fill(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.tryAcquire()) {
+            // Take every permit, so the limit counts as used
+        }
+    }
+
+    private static void drain(AdaptiveConcurrencyLimiter limiter) {
+        while (limiter.getInFlight() > 0) {
+            limiter.onIgnored();
+        }
+    }
+}
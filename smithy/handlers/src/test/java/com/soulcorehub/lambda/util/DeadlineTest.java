@@ -0,0 +1,70 @@
+package com.soulcorehub.lambda.util;
+
+import com.soulcorehub.lambda.exception.DeadlineExceededException;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineTest {
+
+    @Test
+    void failsAndCancelsTheFutureAtTheDeadline() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> bounded = Deadline.after(20).bound(future, "the call");
+
+        CompletionException error = assertThrows(CompletionException.class, bounded::join);
+        assertTrue(error.getCause() instanceof DeadlineExceededException);
+        assertThrows(CancellationException.class, future::join);
+    }
+
+    @Test
+    void passesResultAndCancellationThrough() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> bounded = Deadline.after(60000).bound(future, "the call");
+        future.complete("result");
+        assertEquals("result", bounded.join());
+
+        CompletableFuture<String> cancelled = new CompletableFuture<>();
+        Deadline.after(60000).bound(cancelled, "the call").cancel(false);
+        assertTrue(cancelled.isCancelled());
+    }
+
+    @Test
+    void releasesTheResultOnceComplete() throws InterruptedException {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> bounded = Deadline.after(60000).bound(future, "the call");
+        byte[] result = new byte[10 * 1024 * 1024];
+        WeakReference<byte[]> reference = new WeakReference<>(result);
+        future.complete(result);
+        bounded.join();
+
+        // Only the pending deadline timer could still hold the result
+        result = null;
+        future = null;
+        bounded = null;
+        for (int i = 0; i < 10 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    void capsTimeoutsAtTheRemainingTime() {
+        Duration timeout = Duration.ofSeconds(30);
+        assertSame(timeout, Deadline.none().cap(timeout));
+        assertTrue(Deadline.after(1000).cap(timeout).toMillis() <= 1000);
+        assertEquals(1L, Deadline.after(0).cap(timeout).toMillis());
+    }
+}
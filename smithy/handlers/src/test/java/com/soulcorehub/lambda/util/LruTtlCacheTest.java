@@ -0,0 +1,103 @@
+package com.soulcorehub.lambda.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LruTtlCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(2, 60, 0, TimeUnit.SECONDS, Runnable::run);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        // Reading a makes b the least recently used
+        assertEquals("1", cache.get("a"));
+        cache.put("c", "3");
+
+        assertNull(cache.get("b"));
+        assertEquals("1", cache.get("a"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1L, cache.getEvictionCount());
+    }
+
+    @Test
+    void evictsToStayWithinWeight() {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, 10, String::length, 60, 0, TimeUnit.SECONDS, Runnable::run);
+        cache.put("a", "12345");
+        cache.put("b", "12345");
+        cache.put("c", "123");
+
+        assertNull(cache.get("a"));
+        assertEquals(8L, cache.weight());
+
+        // A value heavier than the whole cache is not stored
+        cache.put("d", "12345678901");
+        assertNull(cache.get("d"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() throws InterruptedException {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, 30, 0, TimeUnit.MILLISECONDS, Runnable::run);
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+
+        Thread.sleep(50);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void refreshesAheadOfExpiry() throws InterruptedException {
+        List<Runnable> refreshes = new ArrayList<>();
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, 10000, 20, TimeUnit.MILLISECONDS, refreshes::add);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get("a", key -> "v" + loads.incrementAndGet()));
+        Thread.sleep(40);
+
+        // The stale value is served while a single reload is queued
+        assertEquals("v1", cache.get("a"));
+        assertEquals("v1", cache.get("a"));
+        assertEquals(1, refreshes.size());
+        assertEquals(1L, cache.getRefreshCount());
+
+        refreshes.get(0).run();
+        assertEquals("v2", cache.get("a"));
+    }
+
+    @Test
+    void keepsValueWhenRefreshFails() throws InterruptedException {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, 10000, 20, TimeUnit.MILLISECONDS, Runnable::run);
+        cache.put("a", "v1", key -> {
+            throw new IllegalStateException("reload failed");
+        });
+        Thread.sleep(40);
+
+        assertEquals("v1", cache.get("a"));
+        assertEquals("v1", cache.get("a"));
+    }
+
+    @Test
+    void invalidatesMatchingKeys() {
+        LruTtlCache<String, String> cache = new LruTtlCache<>(10, 60, 0, TimeUnit.SECONDS, Runnable::run);
+        cache.put("agent-1", "a");
+        cache.put("agent-1#name", "b");
+        cache.put("agent-2", "c");
+
+        cache.invalidateIf(key -> key.startsWith("agent-1"));
+
+        assertNull(cache.get("agent-1"));
+        assertNull(cache.get("agent-1#name"));
+        assertEquals("c", cache.get("agent-2"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.soulcorehub.lambda.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private final List<CompletableFuture<String>> calls = new ArrayList<>();
+    private final Supplier<CompletionStage<String>> call = () -> {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        calls.add(future);
+        return future;
+    };
+
+    @Test
+    void sharesOneCallBetweenConcurrentCallers() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(5, TimeUnit.SECONDS);
+
+        CompletableFuture<String> leader = singleFlight.execute("key", call);
+        CompletableFuture<String> follower = singleFlight.execute("key", call);
+        calls.get(0).complete("result");
+
+        assertEquals(1, calls.size());
+        assertEquals("result", leader.join());
+        assertEquals("result", follower.join());
+        assertEquals(1L, singleFlight.getLeaderCount());
+        assertEquals(1L, singleFlight.getFollowerCount());
+    }
+
+    @Test
+    void startsNewCallOnceTheSharedCallCompletes() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(5, TimeUnit.SECONDS);
+
+        singleFlight.execute("key", call);
+        calls.get(0).complete("first");
+        CompletableFuture<String> next = singleFlight.execute("key", call);
+        calls.get(1).complete("second");
+
+        assertEquals(2, calls.size());
+        assertEquals("second", next.join());
+    }
+
+    @Test
+    void keepsSharedCallWhileAnyCallerWaits() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(5, TimeUnit.SECONDS);
+
+        CompletableFuture<String> leader = singleFlight.execute("key", call);
+        CompletableFuture<String> follower = singleFlight.execute("key", call);
+        leader.cancel(false);
+
+        assertFalse(calls.get(0).isCancelled());
+        calls.get(0).complete("result");
+        assertEquals("result", follower.join());
+    }
+
+    @Test
+    void cancelsSharedCallOnceEveryCallerLeaves() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(5, TimeUnit.SECONDS);
+
+        CompletableFuture<String> leader = singleFlight.execute("key", call);
+        CompletableFuture<String> follower = singleFlight.execute("key", call);
+        leader.cancel(false);
+        follower.cancel(false);
+
+        assertTrue(calls.get(0).isCancelled());
+
+        // The abandoned call is not joined; the next caller starts its own
+        CompletableFuture<String> next = singleFlight.execute("key", call);
+        calls.get(1).complete("fresh");
+        assertEquals(2, calls.size());
+        assertEquals("fresh", next.join());
+    }
+
+    @Test
+    void runsOwnCallWhenLeaderIsTooSlow() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(50, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<String> leader = singleFlight.execute("key", call);
+        CompletableFuture<String> follower = singleFlight.execute("key", () -> CompletableFuture.completedFuture("own"));
+
+        assertEquals("own", follower.join());
+        assertEquals(1L, singleFlight.getFollowerTimeoutCount());
+        assertFalse(calls.get(0).isCancelled());
+
+        calls.get(0).complete("shared");
+        assertEquals("shared", leader.join());
+    }
+
+    @Test
+    void sharesFailures() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(5, TimeUnit.SECONDS);
+
+        CompletableFuture<String> leader = singleFlight.execute("key", call);
+        CompletableFuture<String> follower = singleFlight.execute("key", call);
+        calls.get(0).completeExceptionally(new IllegalStateException("backend failed"));
+
+        assertTrue(leader.isCompletedExceptionally());
+        assertTrue(follower.isCompletedExceptionally());
+    }
+}